@@ -0,0 +1,21 @@
+package com.fiap.hotel_reservation_system.reactive;
+
+import com.fiap.hotel_reservation_system.config.IdGeneratorConfig;
+import com.fiap.hotel_reservation_system.dto.ResponseJsonSerializers;
+import com.fiap.hotel_reservation_system.exception.GlobalExceptionHandler;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Reservation and room endpoints on WebFlux and R2DBC, against the same schema (and Flyway migrations)
+ * as the servlet application. DTOs, enums, id generation, exceptions and their handler are shared with it.
+ */
+@SpringBootApplication
+@Import({GlobalExceptionHandler.class, ResponseJsonSerializers.class, IdGeneratorConfig.class})
+public class ReactiveHotelReservationApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveHotelReservationApplication.class, args);
+    }
+}
@@ -0,0 +1,42 @@
+package com.fiap.hotel_reservation_system.reactive.config;
+
+import com.fiap.hotel_reservation_system.model.CodedEnum;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.convert.ConverterBuilder;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class R2dbcConfig {
+
+    // Enums are stored as their SMALLINT codes, as the JPA converters of the servlet application do.
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(DatabaseClient databaseClient) {
+        return R2dbcCustomConversions.of(DialectResolver.getDialect(databaseClient.getConnectionFactory()), List.of(
+                codes(ReservationStatus.class),
+                codes(RoomStatus.class),
+                codes(RoomType.class)));
+    }
+
+    private static <E extends Enum<E> & CodedEnum> ConverterBuilder.ConverterAware codes(Class<E> type) {
+        Map<Short, E> byCode = new HashMap<>();
+        EnumSet.allOf(type).forEach(constant -> byCode.put(constant.getCode(), constant));
+        return ConverterBuilder.reading(Short.class, type, code -> {
+            E constant = byCode.get(code);
+            if (constant == null) {
+                throw new IllegalArgumentException("Unknown code " + code);
+            }
+            return constant;
+        }).andWriting(CodedEnum::getCode);
+    }
+}
@@ -0,0 +1,103 @@
+package com.fiap.hotel_reservation_system.reactive.controller;
+
+import com.fiap.hotel_reservation_system.dto.ReservationPageDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.reactive.service.ReservationService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reservations")
+public class ReservationController {
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<ReservationResponseDTO>>> getAllReservations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            return reservationService.findAll().collectList().map(ResponseEntity::ok);
+        }
+        return reservationService.findPage(null, cursor, limit).map(ReservationController::pageResponse);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ReservationResponseDTO> exportReservations(@RequestParam(required = false) String status) {
+        return reservationService.export(status);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ReservationResponseDTO>> getReservationById(@PathVariable String id,
+                                                                           ServerWebExchange exchange) {
+        // Only the version columns are read to answer a matching If-None-Match.
+        return reservationService.findVersionTag(id)
+                .flatMap(versionTag -> exchange.checkNotModified(versionTag)
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versionTag)
+                                .<ReservationResponseDTO>build())
+                        : reservationService.findById(id)
+                                .map(reservation -> ResponseEntity.ok().eTag(versionTag).body(reservation)))
+                .switchIfEmpty(Mono.defer(() -> reservationService.findById(id).map(ResponseEntity::ok)));
+    }
+
+    @GetMapping("/status/{status}")
+    public Mono<ResponseEntity<List<ReservationResponseDTO>>> getReservationsByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            return reservationService.findByStatus(status).collectList().map(ResponseEntity::ok);
+        }
+        return reservationService.findPage(status, cursor, limit).map(ReservationController::pageResponse);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<ReservationResponseDTO>> createReservation(
+            @Valid @RequestBody ReservationRequestDTO reservationDTO) {
+        return reservationService.create(reservationDTO)
+                .map(createdReservation -> ResponseEntity.status(HttpStatus.CREATED).body(createdReservation));
+    }
+
+    @PatchMapping("/{id}/checkin")
+    public Mono<ReservationResponseDTO> checkIn(@PathVariable String id) {
+        return reservationService.checkIn(id);
+    }
+
+    @PatchMapping("/{id}/checkout")
+    public Mono<ReservationResponseDTO> checkOut(@PathVariable String id) {
+        return reservationService.checkOut(id);
+    }
+
+    @PatchMapping("/{id}/cancel")
+    public Mono<ReservationResponseDTO> cancel(@PathVariable String id) {
+        return reservationService.cancel(id);
+    }
+
+    private static ResponseEntity<List<ReservationResponseDTO>> pageResponse(ReservationPageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
@@ -0,0 +1,71 @@
+package com.fiap.hotel_reservation_system.reactive.controller;
+
+import com.fiap.hotel_reservation_system.dto.RoomRequestDTO;
+import com.fiap.hotel_reservation_system.dto.RoomResponseDTO;
+import com.fiap.hotel_reservation_system.reactive.service.RoomService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/rooms")
+public class RoomController {
+
+    @Autowired
+    private RoomService roomService;
+
+    @GetMapping
+    public Flux<RoomResponseDTO> getAllRooms() {
+        return roomService.findAll();
+    }
+
+    @GetMapping("/available")
+    public Flux<RoomResponseDTO> getAvailableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkin,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkout,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer minCapacity) {
+        return roomService.findAvailable(checkin, checkout, type, minCapacity);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<RoomResponseDTO>> getRoomById(@PathVariable String id, ServerWebExchange exchange) {
+        return roomService.findVersionTag(id)
+                .flatMap(versionTag -> exchange.checkNotModified(versionTag)
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versionTag)
+                                .<RoomResponseDTO>build())
+                        : roomService.findById(id).map(room -> ResponseEntity.ok().eTag(versionTag).body(room)))
+                .switchIfEmpty(Mono.defer(() -> roomService.findById(id).map(ResponseEntity::ok)));
+    }
+
+    @GetMapping("/status/{status}")
+    public Flux<RoomResponseDTO> getRoomsByStatus(@PathVariable String status) {
+        return roomService.findByStatus(status);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<RoomResponseDTO>> createRoom(@Valid @RequestBody RoomRequestDTO roomDTO) {
+        return roomService.create(roomDTO)
+                .map(createdRoom -> ResponseEntity.status(HttpStatus.CREATED).body(createdRoom));
+    }
+
+    @PatchMapping("/{id}/deactivate")
+    public Mono<ResponseEntity<Void>> deactivateRoom(@PathVariable String id) {
+        return roomService.deactivate(id).then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
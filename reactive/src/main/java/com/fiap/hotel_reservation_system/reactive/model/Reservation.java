@@ -0,0 +1,77 @@
+package com.fiap.hotel_reservation_system.reactive.model;
+
+import com.fiap.hotel_reservation_system.model.IdGenerators;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A null version marks the reservation as new, since the id is assigned up front.
+@Table("reservations")
+public class Reservation {
+
+    @Id
+    private UUID id;
+
+    private UUID roomId;
+
+    private String guestName;
+
+    private LocalDate checkinExpected;
+
+    private LocalDate checkoutExpected;
+
+    private ReservationStatus status;
+
+    private BigDecimal totalAmount;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+
+    public Reservation() {
+        this.id = IdGenerators.nextId();
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+        this.status = ReservationStatus.CREATED;
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public UUID getRoomId() { return roomId; }
+    public void setRoomId(UUID roomId) { this.roomId = roomId; }
+
+    public String getGuestName() { return guestName; }
+    public void setGuestName(String guestName) { this.guestName = guestName; }
+
+    public LocalDate getCheckinExpected() { return checkinExpected; }
+    public void setCheckinExpected(LocalDate checkinExpected) { this.checkinExpected = checkinExpected; }
+
+    public LocalDate getCheckoutExpected() { return checkoutExpected; }
+    public void setCheckoutExpected(LocalDate checkoutExpected) { this.checkoutExpected = checkoutExpected; }
+
+    public ReservationStatus getStatus() { return status; }
+    public void setStatus(ReservationStatus status) { this.status = status; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -0,0 +1,25 @@
+package com.fiap.hotel_reservation_system.reactive.model;
+
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A reservation joined with its room, read in one query by the list and lookup endpoints.
+ */
+public record ReservationWithRoom(UUID id, UUID roomId, Integer roomNumber, RoomType roomType, Integer roomCapacity,
+                                  BigDecimal roomPricePerNight, RoomStatus roomStatus, String guestName,
+                                  LocalDate checkinExpected, LocalDate checkoutExpected, ReservationStatus status,
+                                  BigDecimal totalAmount, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public ReservationResponseDTO toDTO() {
+        return new ReservationResponseDTO(id, roomId, roomNumber, roomType, roomCapacity, roomPricePerNight, roomStatus,
+                guestName, checkinExpected, checkoutExpected, status, totalAmount, createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,58 @@
+package com.fiap.hotel_reservation_system.reactive.model;
+
+import com.fiap.hotel_reservation_system.model.IdGenerators;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// A null version marks the room as new, since the id is assigned up front.
+@Table("rooms")
+public class Room {
+
+    @Id
+    private UUID id;
+
+    private Integer number;
+
+    private RoomType type;
+
+    private Integer capacity;
+
+    private BigDecimal pricePerNight;
+
+    private RoomStatus status;
+
+    @Version
+    private Long version;
+
+    public Room() {
+        this.id = IdGenerators.nextId();
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public Integer getNumber() { return number; }
+    public void setNumber(Integer number) { this.number = number; }
+
+    public RoomType getType() { return type; }
+    public void setType(RoomType type) { this.type = type; }
+
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
+
+    public BigDecimal getPricePerNight() { return pricePerNight; }
+    public void setPricePerNight(BigDecimal pricePerNight) { this.pricePerNight = pricePerNight; }
+
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -0,0 +1,92 @@
+package com.fiap.hotel_reservation_system.reactive.repository;
+
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.reactive.model.Reservation;
+import com.fiap.hotel_reservation_system.reactive.model.ReservationWithRoom;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Mirrors ReservationRepository of the servlet application. The history queries read reservations and
+ * reservations_archive in one UNION ALL statement; enums in native queries are passed as their codes.
+ */
+@Repository
+public interface ReservationRepository extends R2dbcRepository<Reservation, UUID> {
+
+    String COLUMNS = "SELECT r.id, r.room_id, rm.number AS room_number, rm.type AS room_type, " +
+            "rm.capacity AS room_capacity, rm.price_per_night AS room_price_per_night, rm.status AS room_status, " +
+            "r.guest_name, r.checkin_expected, r.checkout_expected, r.status, r.total_amount, r.created_at, r.updated_at ";
+    String HOT = COLUMNS + "FROM reservations r JOIN rooms rm ON rm.id = r.room_id ";
+    String ARCHIVE = COLUMNS + "FROM reservations_archive r JOIN rooms rm ON rm.id = r.room_id ";
+    String AFTER_CURSOR = "(r.created_at > :createdAt OR (r.created_at = :createdAt AND r.id > :id)) ";
+    String PAGE_ORDER = ") h ORDER BY h.created_at, h.id LIMIT :limit";
+
+    @Query(HOT + "UNION ALL " + ARCHIVE)
+    Flux<ReservationWithRoom> findAllWithRoom();
+
+    @Query(HOT + "WHERE r.status = :status UNION ALL " + ARCHIVE + "WHERE r.status = :status")
+    Flux<ReservationWithRoom> findWithRoomByStatus(@Param("status") short status);
+
+    // A reservation archived while this runs can be read from both tables; either copy will do.
+    @Query("SELECT * FROM (" + HOT + "WHERE r.id = :id UNION ALL " + ARCHIVE + "WHERE r.id = :id) h LIMIT 1")
+    Mono<ReservationWithRoom> findWithRoomById(@Param("id") UUID id);
+
+    @Query("SELECT * FROM (" + HOT + "UNION ALL " + ARCHIVE + PAGE_ORDER)
+    Flux<ReservationWithRoom> findFirstPage(@Param("limit") int limit);
+
+    @Query("SELECT * FROM (" + HOT + "WHERE " + AFTER_CURSOR + "UNION ALL " + ARCHIVE + "WHERE " + AFTER_CURSOR + PAGE_ORDER)
+    Flux<ReservationWithRoom> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") UUID id,
+                                            @Param("limit") int limit);
+
+    @Query("SELECT * FROM (" + HOT + "WHERE r.status = :status UNION ALL " + ARCHIVE + "WHERE r.status = :status" + PAGE_ORDER)
+    Flux<ReservationWithRoom> findFirstPageByStatus(@Param("status") short status, @Param("limit") int limit);
+
+    @Query("SELECT * FROM (" + HOT + "WHERE r.status = :status AND " + AFTER_CURSOR +
+            "UNION ALL " + ARCHIVE + "WHERE r.status = :status AND " + AFTER_CURSOR + PAGE_ORDER)
+    Flux<ReservationWithRoom> findPageByStatusAfter(@Param("status") short status,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") UUID id,
+                                                    @Param("limit") int limit);
+
+    @Query("SELECT * FROM (" + HOT + "WHERE :status IS NULL OR r.status = :status UNION ALL " + ARCHIVE +
+            "WHERE :status IS NULL OR r.status = :status) h ORDER BY h.created_at, h.id")
+    Flux<ReservationWithRoom> streamAll(@Param("status") Short status);
+
+    // The response embeds the room, so its version is part of the reservation's version tag.
+    @Query("SELECT CAST(r.version AS VARCHAR(20)) || '.' || CAST(rm.version AS VARCHAR(20)) " +
+            "FROM reservations r JOIN rooms rm ON rm.id = r.room_id WHERE r.id = :id " +
+            "UNION ALL SELECT CAST(r.version AS VARCHAR(20)) || '.' || CAST(rm.version AS VARCHAR(20)) " +
+            "FROM reservations_archive r JOIN rooms rm ON rm.id = r.room_id WHERE r.id = :id LIMIT 1")
+    Mono<String> findVersionTagById(@Param("id") UUID id);
+
+    @Query("SELECT COUNT(*) FROM reservations WHERE room_id = :roomId AND status IN (:statuses) " +
+            "AND checkin_expected <= :checkout AND checkout_expected >= :checkin")
+    Mono<Long> countOverlapping(@Param("roomId") UUID roomId,
+                                @Param("statuses") Collection<Short> statuses,
+                                @Param("checkin") LocalDate checkin,
+                                @Param("checkout") LocalDate checkout);
+
+    Mono<Reservation> findByIdAndStatus(UUID id, ReservationStatus status);
+
+    // Only matches if nobody has changed the row since it was read at the given version.
+    @Modifying
+    @Query("UPDATE reservations SET status = :to, total_amount = :totalAmount, updated_at = :updatedAt, " +
+            "version = version + 1 WHERE id = :id AND version = :version")
+    Mono<Integer> applyTransitionIfUnchanged(@Param("id") UUID id,
+                                             @Param("version") long version,
+                                             @Param("to") short to,
+                                             @Param("totalAmount") BigDecimal totalAmount,
+                                             @Param("updatedAt") LocalDateTime updatedAt);
+}
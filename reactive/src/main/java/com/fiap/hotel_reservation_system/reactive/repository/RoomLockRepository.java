@@ -0,0 +1,39 @@
+package com.fiap.hotel_reservation_system.reactive.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Rows of room_locks, the per-room locks that serialize bookings of a room across nodes (see
+ * ClusterRoomLocks in the servlet application). Here the wait for a held lock happens in the database
+ * without blocking a thread, so a plain FOR UPDATE is used.
+ */
+@Repository
+public class RoomLockRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public RoomLockRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Locks the room's row until the transaction ends; empty if the room has no row yet.
+     */
+    public Mono<Integer> lock(UUID roomId) {
+        return databaseClient.sql("SELECT 1 FROM room_locks WHERE room_id = :roomId FOR UPDATE")
+                .bind("roomId", roomId)
+                .map(row -> 1)
+                .one();
+    }
+
+    public Mono<Long> insert(UUID roomId) {
+        return databaseClient.sql("INSERT INTO room_locks (room_id) VALUES (:roomId)")
+                .bind("roomId", roomId)
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,40 @@
+package com.fiap.hotel_reservation_system.reactive.repository;
+
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.reactive.model.Room;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface RoomRepository extends R2dbcRepository<Room, UUID> {
+
+    Mono<Room> findByNumber(Integer number);
+
+    Flux<Room> findByStatus(RoomStatus status);
+
+    Flux<Room> findAllByOrderByNumber();
+
+    // Same query as RoomRepository.findAvailable of the servlet application; enums are passed as their codes.
+    @Query("SELECT rm.* FROM rooms rm WHERE rm.status = :roomStatus AND (:type IS NULL OR rm.type = :type) " +
+            "AND rm.capacity >= :minCapacity AND NOT EXISTS (SELECT 1 FROM reservations r WHERE r.room_id = rm.id " +
+            "AND r.status IN (:reservationStatuses) " +
+            "AND r.checkin_expected <= :checkout AND r.checkout_expected >= :checkin) " +
+            "ORDER BY rm.number")
+    Flux<Room> findAvailable(@Param("roomStatus") short roomStatus,
+                             @Param("reservationStatuses") Collection<Short> reservationStatuses,
+                             @Param("type") Short type,
+                             @Param("minCapacity") int minCapacity,
+                             @Param("checkin") LocalDate checkin,
+                             @Param("checkout") LocalDate checkout);
+
+    @Query("SELECT CAST(version AS VARCHAR(20)) FROM rooms WHERE id = :id")
+    Mono<String> findVersionTagById(@Param("id") UUID id);
+}
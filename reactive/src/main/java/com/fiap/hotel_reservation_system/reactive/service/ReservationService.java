@@ -0,0 +1,273 @@
+package com.fiap.hotel_reservation_system.reactive.service;
+
+import com.fiap.hotel_reservation_system.dto.ReservationPageDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.exception.BusinessException;
+import com.fiap.hotel_reservation_system.exception.ConflictException;
+import com.fiap.hotel_reservation_system.exception.ResourceNotFoundException;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.reactive.model.Reservation;
+import com.fiap.hotel_reservation_system.reactive.model.ReservationWithRoom;
+import com.fiap.hotel_reservation_system.reactive.model.Room;
+import com.fiap.hotel_reservation_system.reactive.repository.ReservationRepository;
+import com.fiap.hotel_reservation_system.reactive.repository.RoomLockRepository;
+import com.fiap.hotel_reservation_system.service.ReservationCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The booking rules of the servlet ReservationService on R2DBC. Nothing here blocks: a booking waits for
+ * its room's room_locks row inside the database, and a transition that loses the race for the row's
+ * version simply re-reads it.
+ */
+@Service
+public class ReservationService {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomLockRepository roomLockRepository;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Value("${hotel.booking.transition.max-attempts:3}")
+    private int maxTransitionAttempts;
+
+    @Value("${hotel.pagination.default-limit:50}")
+    private int defaultPageLimit;
+
+    @Value("${hotel.pagination.max-limit:500}")
+    private int maxPageLimit;
+
+    public Flux<ReservationResponseDTO> findAll() {
+        return reservationRepository.findAllWithRoom()
+                .distinct(ReservationWithRoom::id)
+                .map(ReservationWithRoom::toDTO);
+    }
+
+    public Flux<ReservationResponseDTO> findByStatus(String status) {
+        return Mono.justOrEmpty(ReservationStatus.fromName(status))
+                .flatMapMany(filter -> reservationRepository.findWithRoomByStatus(filter.getCode()))
+                .distinct(ReservationWithRoom::id)
+                .map(ReservationWithRoom::toDTO);
+    }
+
+    public Mono<ReservationPageDTO> findPage(String status, String cursor, Integer limit) {
+        return Mono.defer(() -> {
+            int pageSize = resolvePageLimit(limit);
+            // One extra row tells whether there is a next page without a separate count query.
+            int fetchLimit = pageSize + 1;
+            Optional<ReservationStatus> statusFilter = Optional.ofNullable(status).flatMap(ReservationStatus::fromName);
+            if (status != null && statusFilter.isEmpty()) {
+                return Mono.just(new ReservationPageDTO(List.of(), null));
+            }
+
+            Flux<ReservationWithRoom> reservations;
+            if (cursor == null || cursor.isBlank()) {
+                reservations = statusFilter.isEmpty()
+                        ? reservationRepository.findFirstPage(fetchLimit)
+                        : reservationRepository.findFirstPageByStatus(statusFilter.get().getCode(), fetchLimit);
+            } else {
+                ReservationCursor after = ReservationCursor.decode(cursor);
+                reservations = statusFilter.isEmpty()
+                        ? reservationRepository.findPageAfter(after.getCreatedAt(), after.getId(), fetchLimit)
+                        : reservationRepository.findPageByStatusAfter(statusFilter.get().getCode(),
+                                after.getCreatedAt(), after.getId(), fetchLimit);
+            }
+
+            return reservations.distinct(ReservationWithRoom::id)
+                    .map(ReservationWithRoom::toDTO)
+                    .collectList()
+                    .map(page -> {
+                        if (page.size() <= pageSize) {
+                            return new ReservationPageDTO(page, null);
+                        }
+                        List<ReservationResponseDTO> items = page.subList(0, pageSize);
+                        ReservationResponseDTO last = items.get(pageSize - 1);
+                        return new ReservationPageDTO(items,
+                                new ReservationCursor(last.getCreatedAt(), UUID.fromString(last.getId())).encode());
+                    });
+        });
+    }
+
+    /**
+     * All reservations (or those in one status) in keyset order, emitted as they are read.
+     */
+    public Flux<ReservationResponseDTO> export(String status) {
+        Optional<ReservationStatus> statusFilter = Optional.ofNullable(status).flatMap(ReservationStatus::fromName);
+        if (status != null && statusFilter.isEmpty()) {
+            return Flux.empty();
+        }
+        return reservationRepository.streamAll(statusFilter.map(ReservationStatus::getCode).orElse(null))
+                .map(ReservationWithRoom::toDTO);
+    }
+
+    private int resolvePageLimit(Integer limit) {
+        if (limit == null) {
+            return defaultPageLimit;
+        }
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new BusinessException("Limit must be between 1 and " + maxPageLimit);
+        }
+        return limit;
+    }
+
+    public Mono<ReservationResponseDTO> findById(String id) {
+        return Mono.justOrEmpty(EntityIds.parse(id))
+                .flatMap(reservationRepository::findWithRoomById)
+                .map(ReservationWithRoom::toDTO)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Reservation not found with id: " + id)));
+    }
+
+    /**
+     * Version tag of the reservation as returned by {@link #findById}, read without loading the reservation.
+     */
+    public Mono<String> findVersionTag(String id) {
+        return Mono.justOrEmpty(EntityIds.parse(id)).flatMap(reservationRepository::findVersionTagById);
+    }
+
+    public Mono<ReservationResponseDTO> create(ReservationRequestDTO dto) {
+        return Mono.defer(() -> {
+            validateDates(dto.getCheckinExpected(), dto.getCheckoutExpected());
+            UUID roomId = EntityIds.parse(dto.getRoomId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + dto.getRoomId()));
+            return createInTransaction(roomId, dto).as(transactionalOperator::transactional);
+        })
+                // Two first bookings of a room without a room_locks row can both insert it; the loser
+                // starts over and finds the row.
+                .retryWhen(Retry.max(1)
+                        .filter(DataIntegrityViolationException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private Mono<ReservationResponseDTO> createInTransaction(UUID roomId, ReservationRequestDTO dto) {
+        return roomService.findRoomEntityById(roomId).flatMap(room -> lockRoom(roomId)
+                // The room stays locked until the transaction ends, so a concurrent booking of the same
+                // room only counts overlaps once this reservation is visible.
+                .then(reservationRepository.countOverlapping(roomId, RoomService.ACTIVE_RESERVATION_CODES,
+                        dto.getCheckinExpected(), dto.getCheckoutExpected()))
+                .flatMap(overlapping -> {
+                    if (overlapping > 0) {
+                        return Mono.error(new ConflictException("Room not available for the selected dates"));
+                    }
+                    Reservation reservation = new Reservation();
+                    reservation.setRoomId(roomId);
+                    reservation.setGuestName(dto.getGuestName());
+                    reservation.setCheckinExpected(dto.getCheckinExpected());
+                    reservation.setCheckoutExpected(dto.getCheckoutExpected());
+                    reservation.setStatus(ReservationStatus.CREATED);
+                    return reservationRepository.save(reservation);
+                })
+                .map(saved -> toDTO(saved, room)));
+    }
+
+    private Mono<Integer> lockRoom(UUID roomId) {
+        return roomLockRepository.lock(roomId)
+                .switchIfEmpty(Mono.defer(() -> roomLockRepository.insert(roomId).then(roomLockRepository.lock(roomId))));
+    }
+
+    public Mono<ReservationResponseDTO> checkIn(String id) {
+        return transition(id, ReservationStatus.CREATED, (reservation, room) -> {
+            if (reservation.getCheckinExpected().isAfter(LocalDate.now().plusDays(1))) {
+                throw new BusinessException("Check-in is only allowed from 1 day before the expected date");
+            }
+            reservation.setStatus(ReservationStatus.CHECKED_IN);
+        });
+    }
+
+    public Mono<ReservationResponseDTO> checkOut(String id) {
+        return transition(id, ReservationStatus.CHECKED_IN, (reservation, room) -> {
+            reservation.setTotalAmount(calculateTotalAmount(room.getPricePerNight(),
+                    reservation.getCheckinExpected(), reservation.getCheckoutExpected()));
+            reservation.setStatus(ReservationStatus.CHECKED_OUT);
+        });
+    }
+
+    public Mono<ReservationResponseDTO> cancel(String id) {
+        return transition(id, ReservationStatus.CREATED,
+                (reservation, room) -> reservation.setStatus(ReservationStatus.CANCELED));
+    }
+
+    private Mono<ReservationResponseDTO> transition(String id, ReservationStatus from, Change change) {
+        return Mono.justOrEmpty(EntityIds.parse(id))
+                .switchIfEmpty(Mono.error(() -> notFoundInStatus(id, from)))
+                .flatMap(reservationId -> transition(id, reservationId, from, change, 1));
+    }
+
+    // Read, decide, then store with a single UPDATE guarded by the version that was read, as the
+    // optimistic transitions of the servlet application do.
+    private Mono<ReservationResponseDTO> transition(String id, UUID reservationId, ReservationStatus from,
+                                                    Change change, int attempt) {
+        return reservationRepository.findByIdAndStatus(reservationId, from)
+                .switchIfEmpty(Mono.error(() -> notFoundInStatus(id, from)))
+                .flatMap(reservation -> roomService.findRoomEntityById(reservation.getRoomId()).flatMap(room -> {
+                    long readVersion = reservation.getVersion();
+                    change.apply(reservation, room);
+                    reservation.setUpdatedAt(LocalDateTime.now());
+                    return reservationRepository.applyTransitionIfUnchanged(reservationId, readVersion,
+                                    reservation.getStatus().getCode(), reservation.getTotalAmount(), reservation.getUpdatedAt())
+                            .flatMap(updated -> {
+                                if (updated > 0) {
+                                    reservation.setVersion(readVersion + 1);
+                                    return Mono.just(toDTO(reservation, room));
+                                }
+                                if (attempt >= maxTransitionAttempts) {
+                                    return Mono.error(new ConflictException(
+                                            "Reservation is being modified concurrently, please retry: " + id));
+                                }
+                                return transition(id, reservationId, from, change, attempt + 1);
+                            });
+                }));
+    }
+
+    private static ResourceNotFoundException notFoundInStatus(String id, ReservationStatus status) {
+        return new ResourceNotFoundException("Reservation not found or not in " + status + " status: " + id);
+    }
+
+    private void validateDates(LocalDate checkin, LocalDate checkout) {
+        if (!checkout.isAfter(checkin)) {
+            throw new BusinessException("Check-out date must be after check-in date");
+        }
+
+        if (checkin.isBefore(LocalDate.now())) {
+            throw new BusinessException("Check-in date cannot be in the past");
+        }
+    }
+
+    static BigDecimal calculateTotalAmount(BigDecimal pricePerNight, LocalDate checkin, LocalDate checkout) {
+        long nights = ChronoUnit.DAYS.between(checkin, checkout);
+        return pricePerNight.multiply(BigDecimal.valueOf(nights));
+    }
+
+    private static ReservationResponseDTO toDTO(Reservation reservation, Room room) {
+        return new ReservationResponseDTO(reservation.getId(), room.getId(), room.getNumber(), room.getType(),
+                room.getCapacity(), room.getPricePerNight(), room.getStatus(), reservation.getGuestName(),
+                reservation.getCheckinExpected(), reservation.getCheckoutExpected(), reservation.getStatus(),
+                reservation.getTotalAmount(), reservation.getCreatedAt(), reservation.getUpdatedAt());
+    }
+
+    @FunctionalInterface
+    private interface Change {
+        void apply(Reservation reservation, Room room);
+    }
+}
@@ -0,0 +1,125 @@
+package com.fiap.hotel_reservation_system.reactive.service;
+
+import com.fiap.hotel_reservation_system.dto.RoomRequestDTO;
+import com.fiap.hotel_reservation_system.dto.RoomResponseDTO;
+import com.fiap.hotel_reservation_system.exception.BusinessException;
+import com.fiap.hotel_reservation_system.exception.ResourceNotFoundException;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+import com.fiap.hotel_reservation_system.reactive.model.Room;
+import com.fiap.hotel_reservation_system.reactive.repository.RoomLockRepository;
+import com.fiap.hotel_reservation_system.reactive.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class RoomService {
+
+    static final List<Short> ACTIVE_RESERVATION_CODES = ReservationStatus.ACTIVE_STATUSES.stream()
+            .map(ReservationStatus::getCode)
+            .toList();
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomLockRepository roomLockRepository;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    public Flux<RoomResponseDTO> findAll() {
+        return roomRepository.findAllByOrderByNumber().map(RoomService::toDTO);
+    }
+
+    public Flux<RoomResponseDTO> findByStatus(String status) {
+        return Mono.justOrEmpty(RoomStatus.fromName(status))
+                .flatMapMany(roomRepository::findByStatus)
+                .map(RoomService::toDTO);
+    }
+
+    public Flux<RoomResponseDTO> findAvailable(LocalDate checkin, LocalDate checkout, String type, Integer minCapacity) {
+        if (!checkout.isAfter(checkin)) {
+            return Flux.error(new BusinessException("Check-out date must be after check-in date"));
+        }
+        Optional<RoomType> roomType = Optional.ofNullable(type).flatMap(RoomType::fromName);
+        if (type != null && roomType.isEmpty()) {
+            return Flux.empty();
+        }
+        return roomRepository.findAvailable(RoomStatus.ACTIVE.getCode(), ACTIVE_RESERVATION_CODES,
+                        roomType.map(RoomType::getCode).orElse(null), minCapacity == null ? 1 : minCapacity, checkin, checkout)
+                .map(RoomService::toDTO);
+    }
+
+    public Mono<String> findVersionTag(String id) {
+        return Mono.justOrEmpty(EntityIds.parse(id)).flatMap(roomRepository::findVersionTagById);
+    }
+
+    public Mono<RoomResponseDTO> findById(String id) {
+        return findRoomEntityById(id).map(RoomService::toDTO);
+    }
+
+    public Mono<RoomResponseDTO> create(RoomRequestDTO dto) {
+        Optional<RoomType> type = RoomType.fromName(dto.getType());
+        if (type.isEmpty()) {
+            return Mono.error(new BusinessException("Invalid room type: " + dto.getType()));
+        }
+
+        Room room = new Room();
+        room.setNumber(dto.getNumber());
+        room.setType(type.get());
+        room.setCapacity(dto.getCapacity());
+        room.setPricePerNight(dto.getPricePerNight());
+        room.setStatus(RoomStatus.ACTIVE);
+
+        // The room and its room_locks row are stored together.
+        return roomRepository.findByNumber(dto.getNumber())
+                .flatMap(existing -> Mono.<Room>error(new BusinessException("Room number already exists: " + dto.getNumber())))
+                .switchIfEmpty(Mono.defer(() -> roomRepository.save(room)
+                        .flatMap(saved -> roomLockRepository.insert(saved.getId()).thenReturn(saved))))
+                .as(transactionalOperator::transactional)
+                .map(RoomService::toDTO);
+    }
+
+    public Mono<Void> deactivate(String id) {
+        return Mono.justOrEmpty(EntityIds.parse(id))
+                .flatMap(roomRepository::findById)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Room not found with id: " + id)))
+                .flatMap(room -> {
+                    room.setStatus(RoomStatus.INACTIVE);
+                    return roomRepository.save(room);
+                })
+                .then();
+    }
+
+    public Mono<Room> findRoomEntityById(String id) {
+        return Mono.justOrEmpty(EntityIds.parse(id))
+                .flatMap(roomRepository::findById)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Room not found with id: " + id)));
+    }
+
+    public Mono<Room> findRoomEntityById(UUID id) {
+        return roomRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Room not found with id: " + id)));
+    }
+
+    static RoomResponseDTO toDTO(Room room) {
+        RoomResponseDTO dto = new RoomResponseDTO();
+        dto.setId(room.getId().toString());
+        dto.setNumber(room.getNumber());
+        dto.setType(room.getType().name());
+        dto.setCapacity(room.getCapacity());
+        dto.setPricePerNight(room.getPricePerNight());
+        dto.setStatus(room.getStatus().name());
+        return dto;
+    }
+}
@@ -0,0 +1,196 @@
+package com.fiap.hotel_reservation_system.reactive.controller;
+
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.dto.RoomResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveReservationApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void bookingLifecycle() {
+        String roomId = createRoom(9901, "180.00");
+        LocalDate checkin = LocalDate.now();
+
+        ReservationResponseDTO created = book(roomId, checkin, checkin.plusDays(3))
+                .expectStatus().isCreated()
+                .expectBody(ReservationResponseDTO.class).returnResult().getResponseBody();
+        assertNotNull(created);
+        assertEquals("CREATED", created.getStatus());
+        assertEquals(9901, created.getRoom().getNumber());
+
+        book(roomId, checkin.plusDays(2), checkin.plusDays(4)).expectStatus().isEqualTo(HttpStatus.CONFLICT);
+
+        ReservationResponseDTO checkedIn = patch("/api/reservations/" + created.getId() + "/checkin")
+                .expectStatus().isOk()
+                .expectBody(ReservationResponseDTO.class).returnResult().getResponseBody();
+        assertEquals("CHECKED_IN", checkedIn.getStatus());
+
+        patch("/api/reservations/" + created.getId() + "/cancel").expectStatus().isNotFound();
+
+        ReservationResponseDTO checkedOut = patch("/api/reservations/" + created.getId() + "/checkout")
+                .expectStatus().isOk()
+                .expectBody(ReservationResponseDTO.class).returnResult().getResponseBody();
+        assertEquals("CHECKED_OUT", checkedOut.getStatus());
+        assertEquals(0, new BigDecimal("540.00").compareTo(checkedOut.getTotalAmount()));
+
+        // A checked-out stay no longer holds the room.
+        book(roomId, checkin.plusDays(2), checkin.plusDays(4)).expectStatus().isCreated();
+    }
+
+    @Test
+    void concurrentBookingsOfOneRoomHaveExactlyOneWinner() {
+        String roomId = createRoom(9906, "220.00");
+        LocalDate checkin = LocalDate.now().plusYears(5);
+
+        List<HttpStatusCode> outcomes = Flux.range(0, 16)
+                .flatMap(i -> Mono.fromCallable(() -> book(roomId, checkin.plusDays(i % 2), checkin.plusDays(3))
+                                .returnResult(Void.class).getStatus())
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .collectList()
+                .block();
+
+        assertEquals(1, outcomes.stream().filter(HttpStatus.CREATED::equals).count(), "Outcomes: " + outcomes);
+        assertEquals(15, outcomes.stream().filter(HttpStatus.CONFLICT::equals).count(), "Outcomes: " + outcomes);
+    }
+
+    @Test
+    void invalidRequestsAreRejected() {
+        String roomId = createRoom(9902, "200.00");
+
+        book(roomId, LocalDate.now().plusDays(5), LocalDate.now().plusDays(5)).expectStatus().isBadRequest();
+        book("00000000-0000-0000-0000-000000000000", LocalDate.now().plusDays(1), LocalDate.now().plusDays(2))
+                .expectStatus().isNotFound();
+        webTestClient.post().uri("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("roomId", roomId))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.guestName").exists();
+        webTestClient.post().uri("/api/rooms")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("number", 9902, "type", "STANDARD", "capacity", 2, "pricePerNight", 200))
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/reservations?limit=0").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void reservationReadAnswers304UntilTheReservationChanges() {
+        String roomId = createRoom(9903, "150.00");
+        LocalDate checkin = LocalDate.now().plusYears(8);
+        ReservationResponseDTO created = book(roomId, checkin, checkin.plusDays(2))
+                .expectBody(ReservationResponseDTO.class).returnResult().getResponseBody();
+        String uri = "/api/reservations/" + created.getId();
+
+        String tag = webTestClient.get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .returnResult(ReservationResponseDTO.class).getResponseHeaders().getETag();
+        assertNotNull(tag);
+        webTestClient.get().uri(uri).header(HttpHeaders.IF_NONE_MATCH, tag).exchange()
+                .expectStatus().isNotModified();
+
+        patch(uri + "/cancel").expectStatus().isOk();
+
+        String changed = webTestClient.get().uri(uri).header(HttpHeaders.IF_NONE_MATCH, tag).exchange()
+                .expectStatus().isOk()
+                .returnResult(ReservationResponseDTO.class).getResponseHeaders().getETag();
+        assertNotEquals(tag, changed);
+    }
+
+    @Test
+    void pagesWalkAllReservationsOnce() {
+        String roomId = createRoom(9904, "100.00");
+        LocalDate checkin = LocalDate.now().plusYears(7);
+        for (int i = 0; i < 7; i++) {
+            book(roomId, checkin.plusDays(i * 3L), checkin.plusDays(i * 3L + 1)).expectStatus().isCreated();
+        }
+
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String uri = "/api/reservations/status/CREATED?limit=3" + (cursor == null ? "" : "&cursor=" + cursor);
+            var result = webTestClient.get().uri(uri).exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(ReservationResponseDTO.class).returnResult();
+            result.getResponseBody().forEach(reservation -> assertTrue(seen.add(reservation.getId())));
+            cursor = result.getResponseHeaders().getFirst("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        List<ReservationResponseDTO> all = webTestClient.get().uri("/api/reservations/status/CREATED").exchange()
+                .expectBodyList(ReservationResponseDTO.class).returnResult().getResponseBody();
+        assertEquals(all.size(), seen.size());
+        assertTrue(pages >= 3);
+    }
+
+    @Test
+    void exportStreamsOneReservationPerLine() {
+        String roomId = createRoom(9905, "120.00");
+        LocalDate checkin = LocalDate.now().plusYears(6);
+        book(roomId, checkin, checkin.plusDays(1)).expectStatus().isCreated();
+
+        List<ReservationResponseDTO> exported = webTestClient.get().uri("/api/reservations/export?status=CREATED")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ReservationResponseDTO.class).getResponseBody().collectList().block();
+        assertTrue(exported.stream().anyMatch(reservation -> reservation.getRoom().getNumber() == 9905));
+        assertNull(webTestClient.get().uri("/api/reservations/export?status=UNKNOWN")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ReservationResponseDTO.class).getResponseBody().blockFirst());
+    }
+
+    private String createRoom(int number, String pricePerNight) {
+        RoomResponseDTO room = webTestClient.post().uri("/api/rooms")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("number", number, "type", "STANDARD", "capacity", 2,
+                        "pricePerNight", new BigDecimal(pricePerNight)))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(RoomResponseDTO.class).returnResult().getResponseBody();
+        return room.getId();
+    }
+
+    private WebTestClient.ResponseSpec book(String roomId, LocalDate checkin, LocalDate checkout) {
+        return webTestClient.post().uri("/api/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("roomId", roomId, "guestName", "Reactive Guest",
+                        "checkinExpected", checkin.toString(), "checkoutExpected", checkout.toString()))
+                .exchange();
+    }
+
+    private WebTestClient.ResponseSpec patch(String uri) {
+        return webTestClient.patch().uri(uri).exchange();
+    }
+}
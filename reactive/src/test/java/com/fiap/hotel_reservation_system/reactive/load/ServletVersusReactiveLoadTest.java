@@ -0,0 +1,300 @@
+package com.fiap.hotel_reservation_system.reactive.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.hotel_reservation_system.reactive.ReactiveHotelReservationApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Drives the servlet application (Tomcat + JDBC, from its packaged jar) and this one (Netty + R2DBC) with
+ * the same mix of bookings, page reads and availability searches from 2,000 concurrent clients, each in
+ * its own JVM with the same heap and a fresh database of the same embedded PostgreSQL, and logs
+ * throughput, p99 latency, peak live threads, peak heap, peak busy database connections and resident
+ * memory at debug. Asserts that the reactive version needs fewer threads without losing more than half
+ * of the servlet throughput, since both are bound by the same database. PostgreSQL rather than H2, whose
+ * R2DBC driver runs blocking JDBC calls underneath.
+ * Excluded from the default build; build the servlet jar with {@code mvn package} in the parent
+ * directory, then run {@code mvn -Pload test} here.
+ */
+@Tag("load")
+class ServletVersusReactiveLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ServletVersusReactiveLoadTest.class);
+    private static final Path SERVLET_JAR = Path.of("..", "target", "hotel-reservation-system-0.0.1-SNAPSHOT.jar");
+    private static final String HEAP = "-Xmx512m";
+    private static final int CLIENTS = 2_000;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final String[] ROOM_IDS = {
+            "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa",
+            "bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb",
+            "cccccccc-cccc-cccc-cccc-cccccccccccc",
+            "dddddddd-dddd-dddd-dddd-dddddddddddd",
+            "eeeeeeee-eeee-eeee-eeee-eeeeeeeeeeee"
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void servletVersusReactive() throws Exception {
+        assumeTrue(Files.exists(SERVLET_JAR), "Build the servlet application first: mvn package in " + SERVLET_JAR.getParent());
+
+        Result servlet;
+        Result reactive;
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+            createDatabases(postgres, "servlet_load", "reactive_load");
+
+            int servletPort = freePort();
+            servlet = run("servlet", servletPort, "hikaricp.connections.active", List.of(javaCommand(), HEAP,
+                    "-jar", SERVLET_JAR.toString(),
+                    "--server.port=" + servletPort,
+                    "--spring.profiles.active=postgres",
+                    "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "servlet_load"),
+                    "--spring.datasource.username=postgres",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.show-sql=false",
+                    "--hotel.admission.enabled=false",
+                    "--logging.level.root=WARN"));
+
+            int reactivePort = freePort();
+            reactive = run("reactive", reactivePort, "r2dbc.pool.acquired", List.of(javaCommand(), HEAP,
+                    "-cp", System.getProperty("java.class.path"),
+                    ReactiveHotelReservationApplication.class.getName(),
+                    "--server.port=" + reactivePort,
+                    "--spring.profiles.active=postgres",
+                    "--spring.r2dbc.url=r2dbc:postgresql://localhost:" + postgres.getPort() + "/reactive_load",
+                    "--spring.r2dbc.username=postgres",
+                    "--spring.r2dbc.password=",
+                    "--spring.flyway.url=" + postgres.getJdbcUrl("postgres", "reactive_load"),
+                    "--spring.flyway.user=postgres",
+                    "--spring.flyway.password=",
+                    "--logging.level.root=WARN"));
+        }
+
+        log.debug("Servlet (Tomcat + JDBC): {}", servlet);
+        log.debug("Reactive (Netty + R2DBC): {}", reactive);
+        assertEquals(0, servlet.errors);
+        assertEquals(0, reactive.errors);
+        assertTrue(reactive.peaks.threads < servlet.peaks.threads,
+                "reactive peak threads " + reactive.peaks.threads + " vs servlet " + servlet.peaks.threads);
+        assertTrue(reactive.throughput >= servlet.throughput * 0.5,
+                "reactive throughput " + reactive + " vs servlet " + servlet);
+    }
+
+    private Result run(String name, int port, String busyConnectionsMetric, List<String> command) throws Exception {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("target", name + "-load.log").toFile())
+                .start();
+        String baseUrl = "http://localhost:" + port;
+        try (HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(30))
+                .build()) {
+            awaitStarted(http, baseUrl, process);
+
+            Peaks peaks = new Peaks();
+            AtomicBoolean sampling = new AtomicBoolean(true);
+            Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+                while (sampling.get()) {
+                    peaks.threads = Math.max(peaks.threads, metric(http, baseUrl, "jvm.threads.live", ""));
+                    peaks.heapBytes = Math.max(peaks.heapBytes, metric(http, baseUrl, "jvm.memory.used", "?tag=area:heap"));
+                    peaks.busyConnections = Math.max(peaks.busyConnections, metric(http, baseUrl, busyConnectionsMetric, ""));
+                    peaks.rssKilobytes = Math.max(peaks.rssKilobytes, residentKilobytes(process.pid()));
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            try {
+                return drive(http, baseUrl, peaks);
+            } finally {
+                sampling.set(false);
+                sampler.join();
+            }
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private Result drive(HttpClient http, String baseUrl, Peaks peaks) throws Exception {
+        LocalDate checkin = LocalDate.now().plusYears(1);
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        HttpRequest request = nextRequest(baseUrl, client, i, checkin);
+                        long begin = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[client * REQUESTS_PER_CLIENT + i] = System.nanoTime() - begin;
+                        if (response.statusCode() >= 500) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+            Arrays.sort(latencies);
+            return new Result(latencies.length / seconds,
+                    latencies[latencies.length * 99 / 100] / 1_000_000.0,
+                    errors.get(), peaks);
+        }
+    }
+
+    private HttpRequest nextRequest(String baseUrl, int client, int iteration, LocalDate checkin) {
+        LocalDate from = checkin.plusDays(ThreadLocalRandom.current().nextInt(365));
+        if (iteration % 4 == 0) {
+            String body = String.format(
+                    "{\"roomId\":\"%s\",\"guestName\":\"Client %d\",\"checkinExpected\":\"%s\",\"checkoutExpected\":\"%s\"}",
+                    ROOM_IDS[client % ROOM_IDS.length], client, from, from.plusDays(2));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/reservations"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+        if (iteration % 4 == 1) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/reservations?limit=20")).GET().build();
+        }
+        return HttpRequest.newBuilder(URI.create(
+                baseUrl + "/api/rooms/available?checkin=" + from + "&checkout=" + from.plusDays(3))).GET().build();
+    }
+
+    private void awaitStarted(HttpClient http, String baseUrl, Process process) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(120).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue() + ", see its log in target");
+            }
+            try {
+                HttpResponse<Void> response = http.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Application did not start on " + baseUrl);
+    }
+
+    private long metric(HttpClient http, String baseUrl, String name, String query) {
+        try {
+            HttpResponse<String> response = http.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name + query)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return 0;
+            }
+            JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+            return measurements.isEmpty() ? 0 : measurements.get(0).path("value").asLong();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    // Resident set size from /proc; 0 where there is none.
+    private static long residentKilobytes(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not on Linux, or the process is gone.
+        }
+        return 0;
+    }
+
+    private static void createDatabases(EmbeddedPostgres postgres, String... names) throws SQLException {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String name : names) {
+                statement.execute("CREATE DATABASE " + name);
+            }
+        }
+    }
+
+    private static String javaCommand() {
+        return ProcessHandle.current().info().command().orElse("java");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static final class Peaks {
+        private volatile long threads;
+        private volatile long heapBytes;
+        private volatile long busyConnections;
+        private volatile long rssKilobytes;
+    }
+
+    private record Result(double throughput, double p99Millis, int errors, Peaks peaks) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p99=%.1fms, errors=%d, peak threads=%d, peak heap=%dMB, " +
+                            "peak busy connections=%d, peak RSS=%dMB",
+                    throughput, p99Millis, errors, peaks.threads, peaks.heapBytes / (1024 * 1024),
+                    peaks.busyConnections, peaks.rssKilobytes / 1024);
+        }
+    }
+}
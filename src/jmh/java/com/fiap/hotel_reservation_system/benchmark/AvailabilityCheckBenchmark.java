@@ -0,0 +1,106 @@
+package com.fiap.hotel_reservation_system.benchmark;
+
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.model.Room;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import com.fiap.hotel_reservation_system.service.ReservationService;
+import com.fiap.hotel_reservation_system.service.RoomAvailabilityIndex;
+import com.fiap.hotel_reservation_system.service.RoomService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap check for a room holding a given number of active reservations, answered by the
+ * in-memory index and by the JPQL overlap query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityCheckBenchmark {
+
+    private static final int ROOMS = 10;
+
+    @Param({"10", "100", "1000"})
+    private int reservationsPerRoom;
+
+    private ConfigurableApplicationContext context;
+    private RoomAvailabilityIndex availabilityIndex;
+    private ReservationRepository reservationRepository;
+    private List<Room> rooms;
+    private LocalDate firstCheckin;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        availabilityIndex = context.getBean(RoomAvailabilityIndex.class);
+        reservationRepository = context.getBean(ReservationRepository.class);
+        RoomService roomService = context.getBean(RoomService.class);
+        ReservationService reservationService = context.getBean(ReservationService.class);
+
+        firstCheckin = LocalDate.now().plusDays(1);
+        rooms = new ArrayList<>();
+        List<ReservationRequestDTO> batch = new ArrayList<>();
+        for (String roomId : BenchmarkContext.createRooms(roomService, ROOMS)) {
+            rooms.add(roomService.findRoomEntityById(roomId));
+            for (int i = 0; i < reservationsPerRoom; i++) {
+                LocalDate checkin = firstCheckin.plusDays(i * 4L);
+                batch.add(BenchmarkContext.request(roomId, checkin, checkin.plusDays(2)));
+                if (batch.size() == 500) {
+                    reservationService.createAll(batch);
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            reservationService.createAll(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean index() {
+        Room room = randomRoom();
+        LocalDate checkin = randomCheckin();
+        return availabilityIndex.hasOverlap(room.getId(), checkin, checkin.plusDays(1));
+    }
+
+    @Benchmark
+    public boolean overlapQuery() {
+        Room room = randomRoom();
+        LocalDate checkin = randomCheckin();
+        return !reservationRepository.findOverlappingReservations(room, checkin, checkin.plusDays(1)).isEmpty();
+    }
+
+    private Room randomRoom() {
+        return rooms.get(ThreadLocalRandom.current().nextInt(rooms.size()));
+    }
+
+    private LocalDate randomCheckin() {
+        return firstCheckin.plusDays(ThreadLocalRandom.current().nextInt(reservationsPerRoom * 4));
+    }
+}
@@ -0,0 +1,60 @@
+package com.fiap.hotel_reservation_system.benchmark;
+
+import com.fiap.hotel_reservation_system.HotelReservationSystemApplication;
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.dto.RoomRequestDTO;
+import com.fiap.hotel_reservation_system.service.RoomService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application without the web layer on a private in-memory database for a benchmark trial.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN"
+        ));
+        properties.addAll(List.of(extraProperties));
+        // Passed as command line arguments: default properties would lose to application.properties.
+        return new SpringApplicationBuilder(HotelReservationSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    static List<String> createRooms(RoomService roomService, int count) {
+        List<String> roomIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            RoomRequestDTO room = new RoomRequestDTO();
+            room.setNumber(5_000 + i);
+            room.setType(i % 2 == 0 ? "STANDARD" : "DELUXE");
+            room.setCapacity(2);
+            room.setPricePerNight(new BigDecimal("250.00"));
+            roomIds.add(roomService.create(room).getId());
+        }
+        return roomIds;
+    }
+
+    static ReservationRequestDTO request(String roomId, LocalDate checkin, LocalDate checkout) {
+        ReservationRequestDTO dto = new ReservationRequestDTO();
+        dto.setRoomId(roomId);
+        dto.setGuestName("Benchmark Guest");
+        dto.setCheckinExpected(checkin);
+        dto.setCheckoutExpected(checkout);
+        return dto;
+    }
+}
@@ -0,0 +1,44 @@
+package com.fiap.hotel_reservation_system.benchmark;
+
+import com.fiap.hotel_reservation_system.model.RandomUuidGenerator;
+import com.fiap.hotel_reservation_system.model.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one primary key: random UUIDs (SecureRandom) against time-ordered UUIDv7 (one shared
+ * atomic counter). Run with {@code -t 8} to see the counter under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class IdGeneratorBenchmark {
+
+    private final RandomUuidGenerator random = new RandomUuidGenerator();
+    private final TimeOrderedUuidGenerator timeOrdered = new TimeOrderedUuidGenerator();
+
+    @Benchmark
+    public UUID random() {
+        return random.nextId();
+    }
+
+    @Benchmark
+    public UUID timeOrdered() {
+        return timeOrdered.nextId();
+    }
+}
@@ -0,0 +1,159 @@
+package com.fiap.hotel_reservation_system.benchmark;
+
+import com.fiap.hotel_reservation_system.model.IdGenerator;
+import com.fiap.hotel_reservation_system.model.RandomUuidGenerator;
+import com.fiap.hotel_reservation_system.model.TimeOrderedUuidGenerator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk insert of {@code rows} reservations into the pre-V5 layout (VARCHAR(36) keys, VARCHAR statuses)
+ * and into the current one (uuid keys, SMALLINT codes) on an embedded PostgreSQL, with the same
+ * indexes as the real schema, using random or time-ordered ids. Table and index sizes are printed
+ * after each iteration.
+ *
+ * The default keeps a run short; pass {@code -p rows=10000000} for the full-size comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class KeyLayoutBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int ROOMS = 500;
+    private static final String[] STATUS_NAMES = {"CREATED", "CHECKED_IN", "CHECKED_OUT", "CANCELED"};
+
+    @Param({"varchar", "compact"})
+    private String layout;
+
+    @Param({"random", "time-ordered"})
+    private String ids;
+
+    @Param({"1000000"})
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private UUID[] roomIds;
+    private IdGenerator idGenerator;
+
+    @Setup(Level.Trial)
+    public void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        // Lets the driver rewrite each batch into multi-row INSERTs.
+        connection = DriverManager.getConnection(postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        idGenerator = "random".equals(ids) ? new RandomUuidGenerator() : new TimeOrderedUuidGenerator();
+        roomIds = new UUID[ROOMS];
+        for (int i = 0; i < ROOMS; i++) {
+            roomIds[i] = UUID.randomUUID();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createTable() throws SQLException {
+        String keyType = "compact".equals(layout) ? "uuid" : "VARCHAR(36)";
+        String statusType = "compact".equals(layout) ? "SMALLINT" : "VARCHAR(20)";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS reservations");
+            statement.execute("CREATE TABLE reservations (" +
+                    "id " + keyType + " PRIMARY KEY, " +
+                    "room_id " + keyType + " NOT NULL, " +
+                    "guest_name VARCHAR(120) NOT NULL, " +
+                    "checkin_expected DATE NOT NULL, " +
+                    "checkout_expected DATE NOT NULL, " +
+                    "status " + statusType + " NOT NULL, " +
+                    "created_at TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_reservations_room_dates ON reservations(room_id, checkin_expected, checkout_expected)");
+            statement.execute("CREATE INDEX idx_reservations_status ON reservations(status)");
+            statement.execute("CREATE INDEX idx_reservations_created_id ON reservations(created_at, id)");
+        }
+    }
+
+    @Benchmark
+    public int insert() throws SQLException {
+        boolean compact = "compact".equals(layout);
+        LocalDate firstCheckin = LocalDate.of(2030, 1, 1);
+        LocalDateTime createdAt = LocalDateTime.of(2029, 1, 1, 0, 0);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO reservations " +
+                "(id, room_id, guest_name, checkin_expected, checkout_expected, status, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                UUID id = idGenerator.nextId();
+                UUID roomId = roomIds[i % ROOMS];
+                LocalDate checkin = firstCheckin.plusDays((i / ROOMS) % 3650);
+                int status = i % STATUS_NAMES.length;
+                if (compact) {
+                    insert.setObject(1, id);
+                    insert.setObject(2, roomId);
+                    insert.setShort(6, (short) status);
+                } else {
+                    insert.setString(1, id.toString());
+                    insert.setString(2, roomId.toString());
+                    insert.setString(6, STATUS_NAMES[status]);
+                }
+                insert.setString(3, "Guest " + i);
+                insert.setDate(4, Date.valueOf(checkin));
+                insert.setDate(5, Date.valueOf(checkin.plusDays(2)));
+                insert.setTimestamp(7, Timestamp.valueOf(createdAt.plusSeconds(i)));
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return rows;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportSizes() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet sizes = statement.executeQuery("SELECT pg_size_pretty(pg_table_size('reservations')), " +
+                     "pg_size_pretty(pg_indexes_size('reservations')), " +
+                     "pg_size_pretty(pg_relation_size('reservations_pkey')), " +
+                     "pg_size_pretty(pg_relation_size('idx_reservations_room_dates'))")) {
+            sizes.next();
+            System.out.printf("%n[%s, %s, %d rows] table=%s indexes=%s pk=%s room_dates=%s%n", layout, ids, rows,
+                    sizes.getString(1), sizes.getString(2), sizes.getString(3), sizes.getString(4));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() throws Exception {
+        connection.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,155 @@
+package com.fiap.hotel_reservation_system.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the overlap check run before every booking, on an embedded PostgreSQL holding
+ * {@code historyRows} finished reservations next to a small set of upcoming ones. With the {@code single}
+ * layout the history stays in reservations, as it did before the sweeper archived it; with
+ * {@code archived} it sits in reservations_archive and the check only reads the upcoming stays.
+ *
+ * The history of a room is all in the past, but it still matches {@code checkin_expected <= checkout},
+ * so in the single layout every check walks the room's whole history in idx_reservations_room_dates.
+ *
+ * The default keeps a run short; pass {@code -p historyRows=1000000,50000000} for the full comparison
+ * (loading 50M rows takes several minutes and about 8 GB of disk).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class OverlapHistoryBenchmark {
+
+    private static final int ROOMS = 500;
+    private static final int UPCOMING_STAYS_PER_ROOM = 20;
+    private static final int HISTORY_DAYS = 3650;
+
+    @Param({"single", "archived"})
+    private String layout;
+
+    @Param({"1000000"})
+    private int historyRows;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private PreparedStatement overlapCheck;
+    private UUID[] roomIds;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void loadHistory() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl("postgres", "postgres"));
+        today = LocalDate.now();
+        String historyTable = "archived".equals(layout) ? "reservations_archive" : "reservations";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE rooms (id uuid PRIMARY KEY, number INTEGER NOT NULL UNIQUE)");
+            statement.execute("CREATE TABLE reservations (" +
+                    "id uuid PRIMARY KEY DEFAULT gen_random_uuid(), " +
+                    "room_id uuid NOT NULL REFERENCES rooms(id), " +
+                    "guest_name VARCHAR(120) NOT NULL, " +
+                    "checkin_expected DATE NOT NULL, " +
+                    "checkout_expected DATE NOT NULL, " +
+                    "status SMALLINT NOT NULL, " +
+                    "total_amount DECIMAL(10,2), " +
+                    "created_at TIMESTAMP, " +
+                    "updated_at TIMESTAMP, " +
+                    "version BIGINT NOT NULL DEFAULT 0)");
+            statement.execute("CREATE TABLE reservations_archive (LIKE reservations INCLUDING DEFAULTS, " +
+                    "archived_at TIMESTAMP NOT NULL DEFAULT now(), PRIMARY KEY (id))");
+            statement.execute("CREATE INDEX idx_reservations_room_dates ON reservations(room_id, checkin_expected, checkout_expected)");
+            statement.execute("CREATE INDEX idx_reservations_status ON reservations(status)");
+            statement.execute("CREATE INDEX idx_reservations_archive_created_id ON reservations_archive(created_at, id)");
+
+            statement.execute("INSERT INTO rooms (id, number) SELECT gen_random_uuid(), 100 + n FROM generate_series(0, " + (ROOMS - 1) + ") n");
+            // Finished stays spread over the last ten years: checked out or canceled, alternately.
+            statement.execute("INSERT INTO " + historyTable + " (room_id, guest_name, checkin_expected, checkout_expected, " +
+                    "status, total_amount, created_at, updated_at) " +
+                    "SELECT r.id, 'Guest ' || n, d, d + 2, (2 + n % 2)::smallint, 360.00, d - 30, d + 2 " +
+                    "FROM generate_series(0, " + (historyRows - 1) + ") n " +
+                    "JOIN (SELECT id, row_number() OVER (ORDER BY number) - 1 AS position FROM rooms) r " +
+                    "ON r.position = n % " + ROOMS + " " +
+                    "CROSS JOIN LATERAL (SELECT DATE '" + today + "' - 3 - ((n / " + ROOMS + ") % " + HISTORY_DAYS + ")::int AS d) stay");
+            // Upcoming stays, every third night of the next two months of each room.
+            statement.execute("INSERT INTO reservations (room_id, guest_name, checkin_expected, checkout_expected, " +
+                    "status, total_amount, created_at, updated_at) " +
+                    "SELECT r.id, 'Upcoming guest', d, d + 2, 0, 360.00, now(), now() " +
+                    "FROM rooms r CROSS JOIN generate_series(0, " + (UPCOMING_STAYS_PER_ROOM - 1) + ") s " +
+                    "CROSS JOIN LATERAL (SELECT DATE '" + today + "' + 1 + s * 3 AS d) stay");
+            statement.execute("VACUUM ANALYZE");
+        }
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rooms = statement.executeQuery("SELECT id FROM rooms ORDER BY number")) {
+            roomIds = new UUID[ROOMS];
+            for (int i = 0; rooms.next(); i++) {
+                roomIds[i] = rooms.getObject(1, UUID.class);
+            }
+        }
+        // Same predicate as ReservationRepository.findOverlapping with the active statuses.
+        overlapCheck = connection.prepareStatement("SELECT id FROM reservations WHERE room_id = ? " +
+                "AND status IN (0, 1) AND checkin_expected <= ? AND checkout_expected >= ?");
+        reportSizes();
+    }
+
+    private void reportSizes() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet sizes = statement.executeQuery("SELECT pg_size_pretty(pg_total_relation_size('reservations')), " +
+                     "pg_size_pretty(pg_relation_size('idx_reservations_room_dates')), " +
+                     "pg_size_pretty(pg_total_relation_size('reservations_archive'))")) {
+            sizes.next();
+            System.out.printf("%n[%s, %d history rows] reservations=%s room_dates=%s archive=%s%n", layout,
+                    historyRows, sizes.getString(1), sizes.getString(2), sizes.getString(3));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() throws Exception {
+        overlapCheck.close();
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int overlapCheck() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate checkin = today.plusDays(1 + random.nextInt(UPCOMING_STAYS_PER_ROOM * 3));
+        overlapCheck.setObject(1, roomIds[random.nextInt(ROOMS)]);
+        overlapCheck.setDate(2, Date.valueOf(checkin.plusDays(2)));
+        overlapCheck.setDate(3, Date.valueOf(checkin));
+        int overlapping = 0;
+        try (ResultSet rows = overlapCheck.executeQuery()) {
+            while (rows.next()) {
+                overlapping++;
+            }
+        }
+        return overlapping;
+    }
+}
@@ -0,0 +1,98 @@
+package com.fiap.hotel_reservation_system.benchmark;
+
+import com.fiap.hotel_reservation_system.exception.ConflictException;
+import com.fiap.hotel_reservation_system.service.InventoryService;
+import com.fiap.hotel_reservation_system.service.ReportService;
+import com.fiap.hotel_reservation_system.service.ReservationService;
+import com.fiap.hotel_reservation_system.service.RoomAvailabilityIndex;
+import com.fiap.hotel_reservation_system.service.RoomService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ReservationService.create end to end (lock, availability check, insert, commit) with a given
+ * share of requests hitting an already booked period. The free bookings of an iteration are deleted
+ * before the next one, so every iteration starts from the same 50 reservations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationCreateBenchmark {
+
+    @Param({"0.0", "0.5", "0.9"})
+    private double conflictRatio;
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+    private JdbcTemplate jdbcTemplate;
+    private List<String> roomIds;
+    private LocalDate bookedCheckin;
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        reservationService = context.getBean(ReservationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        roomIds = BenchmarkContext.createRooms(context.getBean(RoomService.class), 50);
+
+        bookedCheckin = LocalDate.now().plusDays(1);
+        roomIds.forEach(roomId -> reservationService.create(
+                BenchmarkContext.request(roomId, bookedCheckin, bookedCheckin.plusDays(2))));
+    }
+
+    @Setup(Level.Iteration)
+    public void removeFreeBookings() {
+        // Left in place, they pile up in the in-memory database and the index, inventory and report
+        // totals, and each iteration runs slower than the one before.
+        jdbcTemplate.update("DELETE FROM reservations WHERE checkin_expected > ?", bookedCheckin);
+        context.getBean(RoomAvailabilityIndex.class).warmUp();
+        context.getBean(InventoryService.class).rebuild();
+        context.getBean(ReportService.class).load();
+        nextSlot.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object create() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String roomId = roomIds.get(random.nextInt(roomIds.size()));
+        if (random.nextDouble() < conflictRatio) {
+            try {
+                return reservationService.create(
+                        BenchmarkContext.request(roomId, bookedCheckin, bookedCheckin.plusDays(2)));
+            } catch (ConflictException e) {
+                return e;
+            }
+        }
+        // Every free booking gets its own slot, so it can never conflict with an earlier one.
+        LocalDate checkin = bookedCheckin.plusDays(10 + nextSlot.getAndIncrement() * 3);
+        return reservationService.create(BenchmarkContext.request(roomId, checkin, checkin.plusDays(2)));
+    }
+}
@@ -0,0 +1,78 @@
+package com.fiap.hotel_reservation_system.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.dto.ResponseJsonSerializers;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a reservation list, configured like the application's ObjectMapper, with bean
+ * serialization or with the hand-written {@link ResponseJsonSerializers}. Run with {@code -prof gc}: the
+ * bytes allocated per row are {@code gc.alloc.rate.norm} divided by {@code listSize}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int listSize;
+
+    @Param({"bean", "streaming"})
+    private String serializer;
+
+    private ObjectMapper objectMapper;
+    private List<ReservationResponseDTO> reservations;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("streaming".equals(serializer)) {
+            builder.serializers(new ResponseJsonSerializers.RoomSerializer(),
+                    new ResponseJsonSerializers.ReservationSerializer());
+        }
+        objectMapper = builder.build();
+
+        reservations = new ArrayList<>();
+        LocalDate checkin = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < listSize; i++) {
+            reservations.add(new ReservationResponseDTO(UUID.randomUUID(), UUID.randomUUID(),
+                    100 + i, RoomType.DELUXE, 3, new BigDecimal("350.00"), RoomStatus.ACTIVE, "Guest " + i,
+                    checkin.plusDays(i), checkin.plusDays(i + 2L), ReservationStatus.CHECKED_OUT, new BigDecimal("700.00"),
+                    LocalDateTime.of(2029, 12, 1, 10, 15, 30, 123_456_000), LocalDateTime.of(2030, 1, 3, 11, 0)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reservations);
+    }
+}
@@ -0,0 +1,97 @@
+package com.fiap.hotel_reservation_system.benchmark;
+
+import com.fiap.hotel_reservation_system.exception.ConflictException;
+import com.fiap.hotel_reservation_system.exception.ResourceNotFoundException;
+import com.fiap.hotel_reservation_system.service.ReservationService;
+import com.fiap.hotel_reservation_system.service.RoomService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reservation cancellations from 8 threads with optimistic (version-guarded UPDATE) and pessimistic
+ * (SELECT ... FOR UPDATE) transitions. With {@code contention} > 1 that many threads race for each
+ * reservation and all but one lose.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 6, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(8)
+@Fork(1)
+public class TransitionLockingBenchmark {
+
+    private static final int ROOMS = 50;
+    private static final int STAYS_PER_ROOM = 600;
+
+    @Param({"optimistic", "pessimistic"})
+    private String locking;
+
+    @Param({"1", "4"})
+    private int contention;
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+    private JdbcTemplate jdbcTemplate;
+    private final List<String> reservationIds = new ArrayList<>();
+    private final AtomicLong nextCall = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("hotel.booking.transition.locking=" + locking);
+        reservationService = context.getBean(ReservationService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<String> roomIds = BenchmarkContext.createRooms(context.getBean(RoomService.class), ROOMS);
+        LocalDate base = LocalDate.now().plusDays(1);
+        for (int stay = 0; stay < STAYS_PER_ROOM; stay++) {
+            LocalDate checkin = base.plusDays(stay * 3L);
+            for (String roomId : roomIds) {
+                reservationIds.add(reservationService.create(
+                        BenchmarkContext.request(roomId, checkin, checkin.plusDays(2))).getId());
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void reopenReservations() {
+        jdbcTemplate.update("UPDATE reservations SET status = 0");
+        nextCall.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object cancel() {
+        long call = nextCall.getAndIncrement();
+        String reservationId = reservationIds.get((int) ((call / contention) % reservationIds.size()));
+        try {
+            return reservationService.cancel(reservationId);
+        } catch (ResourceNotFoundException | ConflictException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.model.Reservation;
+import com.fiap.hotel_reservation_system.model.Room;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and the check-out pricing, both package-private in ReservationService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReservationMappingBenchmark {
+
+    private final ReservationService reservationService = new ReservationService();
+    private Reservation reservation;
+
+    @Setup
+    public void setUp() {
+        Room room = new Room();
+        room.setNumber(201);
+        room.setType(RoomType.DELUXE);
+        room.setCapacity(3);
+        room.setPricePerNight(new BigDecimal("350.00"));
+        room.setStatus(RoomStatus.ACTIVE);
+
+        reservation = new Reservation();
+        reservation.setRoom(room);
+        reservation.setGuestName("Mapping Guest");
+        reservation.setCheckinExpected(LocalDate.of(2030, 1, 10));
+        reservation.setCheckoutExpected(LocalDate.of(2030, 1, 17));
+        reservation.setTotalAmount(new BigDecimal("2450.00"));
+    }
+
+    @Benchmark
+    public ReservationResponseDTO toDTO() {
+        return reservationService.toDTO(reservation);
+    }
+
+    @Benchmark
+    public BigDecimal checkOutPricing() {
+        return ReservationService.calculateTotalAmount(reservation.getRoom().getPricePerNight(),
+                reservation.getCheckinExpected(), reservation.getCheckoutExpected());
+    }
+}
@@ -0,0 +1,75 @@
+package com.fiap.hotel_reservation_system.config;
+
+import com.fiap.hotel_reservation_system.exception.ServiceOverloadedException;
+import com.fiap.hotel_reservation_system.exception.TooManyRequestsException;
+import com.fiap.hotel_reservation_system.service.AdaptiveConcurrencyLimiter;
+import com.fiap.hotel_reservation_system.service.ClientRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the reservation endpoints: bookings (POST) first take a token from the
+ * caller's bucket, then every request takes a slot from the adaptive concurrency limit (503 when none
+ * frees up in time). The slot is released with the request's latency and outcome, which is what adapts
+ * the limit.
+ *
+ * Buckets belong to the remote address; the client id header only picks a sub-bucket within it, and a
+ * request without one uses the address's shared bucket. An empty bucket means 429. A batch is charged
+ * one token per booking by {@link BatchAdmissionAdvice} once its body has been read.
+ */
+@Component
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String ADMITTED_AT = AdmissionControlInterceptor.class.getName() + ".admittedAt";
+    static final String BATCH_PATH = "/batch";
+
+    @Autowired
+    private ClientRateLimiter rateLimiter;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Value("${hotel.rate-limit.client-header:X-Client-Id}")
+    private String clientHeader;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (HttpMethod.POST.matches(request.getMethod()) && !request.getRequestURI().endsWith(BATCH_PATH)) {
+            chargeBookings(request, 1);
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many reservation requests in progress, please retry later");
+        }
+        request.setAttribute(ADMITTED_AT, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * Takes one token per booking from the caller's bucket, or throws 429.
+     */
+    void chargeBookings(HttpServletRequest request, int bookings) {
+        String client = request.getHeader(clientHeader);
+        long wait = rateLimiter.tryAcquire(request.getRemoteAddr(), client == null || client.isBlank() ? null : client,
+                bookings);
+        if (wait > 0) {
+            throw new TooManyRequestsException("Booking rate limit exceeded, please retry later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ADMITTED_AT) instanceof Long admittedAt) {
+            request.removeAttribute(ADMITTED_AT);
+            concurrencyLimiter.release(System.nanoTime() - admittedAt, ex != null || response.getStatus() >= 500);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.fiap.hotel_reservation_system.config;
+
+import com.fiap.hotel_reservation_system.controller.ReservationController;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Charges {@code POST /api/reservations/batch} one rate limit token per booking. The interceptor runs
+ * before the body is read, so it leaves batches to this advice; the charge is capped at the largest batch
+ * accepted, since a bigger one is rejected without booking anything.
+ */
+@ControllerAdvice(assignableTypes = ReservationController.class)
+@ConditionalOnProperty(name = "hotel.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class BatchAdmissionAdvice extends RequestBodyAdviceAdapter {
+
+    @Autowired
+    private AdmissionControlInterceptor admissionControlInterceptor;
+
+    @Value("${hotel.booking.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return List.class.isAssignableFrom(methodParameter.getParameterType());
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getRequest().getRequestURI().endsWith(AdmissionControlInterceptor.BATCH_PATH)) {
+            admissionControlInterceptor.chargeBookings(attributes.getRequest(),
+                    Math.max(1, Math.min(((List<?>) body).size(), maxBatchSize)));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,24 @@
+package com.fiap.hotel_reservation_system.config;
+
+import com.fiap.hotel_reservation_system.model.IdGenerator;
+import com.fiap.hotel_reservation_system.model.IdGenerators;
+import com.fiap.hotel_reservation_system.model.RandomUuidGenerator;
+import com.fiap.hotel_reservation_system.model.TimeOrderedUuidGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    public IdGenerator idGenerator(@Value("${hotel.ids.strategy:time-ordered}") String strategy) {
+        IdGenerator generator = switch (strategy) {
+            case "time-ordered" -> new TimeOrderedUuidGenerator();
+            case "random" -> new RandomUuidGenerator();
+            default -> throw new IllegalArgumentException("Unknown id strategy: " + strategy);
+        };
+        IdGenerators.use(generator);
+        return generator;
+    }
+}
@@ -0,0 +1,153 @@
+package com.fiap.hotel_reservation_system.config;
+
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.service.AdaptiveConcurrencyLimiter;
+import com.fiap.hotel_reservation_system.service.ClientRateLimiter;
+import com.fiap.hotel_reservation_system.service.ClusterRoomLocks;
+import com.fiap.hotel_reservation_system.service.IdempotencyService;
+import com.fiap.hotel_reservation_system.service.ReservationStatusCounts;
+import com.fiap.hotel_reservation_system.service.ReservationSweeper;
+import com.fiap.hotel_reservation_system.service.ReservationWriteBehind;
+import com.fiap.hotel_reservation_system.service.RoomCatalog;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder reservationStatusMetrics(ReservationStatusCounts statusCounts) {
+        return registry -> Arrays.stream(ReservationStatus.values()).forEach(status ->
+                Gauge.builder("hotel.reservations.by.status", statusCounts, counts -> counts.count(status))
+                        .description("Reservations currently in each status")
+                        .tag("status", status.name())
+                        .register(registry));
+    }
+
+    @Bean
+    public MeterBinder roomCatalogMetrics(RoomCatalog roomCatalog) {
+        return registry -> {
+            FunctionCounter.builder("hotel.room.catalog.requests", roomCatalog, RoomCatalog::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("hotel.room.catalog.requests", roomCatalog, RoomCatalog::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("hotel.room.catalog.evictions", roomCatalog, RoomCatalog::getEvictionCount)
+                    .register(registry);
+            Gauge.builder("hotel.room.catalog.size", roomCatalog, RoomCatalog::getSize)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder writeBehindMetrics(ReservationWriteBehind writeBehind) {
+        return registry -> {
+            Gauge.builder("hotel.reservations.write.behind.backlog", writeBehind, ReservationWriteBehind::getBacklog)
+                    .description("Reservations with a logged status change not yet stored in the database")
+                    .register(registry);
+            FunctionCounter.builder("hotel.reservations.write.behind.rejected", writeBehind,
+                            ReservationWriteBehind::getRejectedCount)
+                    .description("Logged status changes that did not match the stored reservation")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder idempotencyMetrics(IdempotencyService idempotencyService) {
+        return registry -> {
+            FunctionCounter.builder("hotel.idempotency.requests", idempotencyService,
+                            IdempotencyService::getCacheHitCount)
+                    .tag("result", "cache_hit")
+                    .register(registry);
+            FunctionCounter.builder("hotel.idempotency.requests", idempotencyService,
+                            IdempotencyService::getStoreHitCount)
+                    .tag("result", "store_hit")
+                    .register(registry);
+            FunctionCounter.builder("hotel.idempotency.requests", idempotencyService,
+                            IdempotencyService::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("hotel.idempotency.cache.size", idempotencyService, IdempotencyService::getCacheSize)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder admissionMetrics(ClientRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        return registry -> {
+            FunctionCounter.builder("hotel.admission.rejections", rateLimiter, ClientRateLimiter::getRejectionCount)
+                    .description("Reservation requests rejected before reaching the controller")
+                    .tag("limiter", "rate")
+                    .register(registry);
+            FunctionCounter.builder("hotel.admission.rejections", concurrencyLimiter,
+                            AdaptiveConcurrencyLimiter::getRejectionCount)
+                    .description("Reservation requests rejected before reaching the controller")
+                    .tag("limiter", "concurrency")
+                    .register(registry);
+            Gauge.builder("hotel.admission.rate.addresses", rateLimiter, ClientRateLimiter::getAddressCount)
+                    .register(registry);
+            Gauge.builder("hotel.admission.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .register(registry);
+            Gauge.builder("hotel.admission.in.flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .register(registry);
+            Gauge.builder("hotel.admission.queue.depth", concurrencyLimiter,
+                            AdaptiveConcurrencyLimiter::getQueueDepth)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder sweeperMetrics(ReservationSweeper sweeper) {
+        return registry -> {
+            FunctionCounter.builder("hotel.sweeper.runs", sweeper, ReservationSweeper::getRunCount)
+                    .tag("result", "swept")
+                    .register(registry);
+            FunctionCounter.builder("hotel.sweeper.runs", sweeper, ReservationSweeper::getSkippedRunCount)
+                    .description("Sweeps skipped because another node held the lease")
+                    .tag("result", "skipped")
+                    .register(registry);
+            FunctionCounter.builder("hotel.sweeper.rows", sweeper, ReservationSweeper::getNoShowCount)
+                    .tag("action", "no_show")
+                    .register(registry);
+            FunctionCounter.builder("hotel.sweeper.rows", sweeper, ReservationSweeper::getArchivedCount)
+                    .tag("action", "archived")
+                    .register(registry);
+            Gauge.builder("hotel.sweeper.last.run.duration", sweeper, ReservationSweeper::getLastRunSeconds)
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder("hotel.sweeper.last.run.throughput", sweeper, ReservationSweeper::getLastRunRowsPerSecond)
+                    .description("Rows marked as no-show or archived per second in the last sweep")
+                    .baseUnit("rows/s")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder clusterLockMetrics(ClusterRoomLocks clusterRoomLocks) {
+        return registry -> {
+            FunctionCounter.builder("hotel.booking.cluster.locks", clusterRoomLocks, ClusterRoomLocks::getAcquiredCount)
+                    .tag("result", "acquired")
+                    .register(registry);
+            FunctionCounter.builder("hotel.booking.cluster.locks", clusterRoomLocks, ClusterRoomLocks::getContendedCount)
+                    .description("Room locks acquired after waiting for another booking of the same room")
+                    .tag("result", "contended")
+                    .register(registry);
+            FunctionCounter.builder("hotel.booking.cluster.locks", clusterRoomLocks, ClusterRoomLocks::getTimeoutCount)
+                    .tag("result", "timeout")
+                    .register(registry);
+        };
+    }
+}
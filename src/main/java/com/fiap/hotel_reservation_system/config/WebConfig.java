@@ -0,0 +1,23 @@
+package com.fiap.hotel_reservation_system.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "hotel.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private AdmissionControlInterceptor admissionControlInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // The NDJSON export streams for as long as the client reads, so its latency says nothing about load.
+        registry.addInterceptor(admissionControlInterceptor)
+                .addPathPatterns("/api/reservations", "/api/reservations/**")
+                .excludePathPatterns("/api/reservations/export");
+    }
+}
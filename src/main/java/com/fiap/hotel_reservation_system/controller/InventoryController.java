@@ -0,0 +1,58 @@
+package com.fiap.hotel_reservation_system.controller;
+
+import com.fiap.hotel_reservation_system.dto.InventoryDTO;
+import com.fiap.hotel_reservation_system.service.InventoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/inventory")
+@Tag(name = "4. Inventário", description = "API de disponibilidade diária dos quartos")
+public class InventoryController {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @GetMapping
+    @Operation(
+            summary = "Calendário de disponibilidade",
+            description = "Retorna, para cada quarto ativo (opcionalmente filtrado por tipo), uma sequência com um " +
+                    "caractere por diária do período ('1' livre, '0' reservada), a quantidade de quartos livres por " +
+                    "diária e as diárias em que algum quarto ou todos os quartos estão livres"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Calendário gerado com sucesso",
+                    content = @Content(schema = @Schema(implementation = InventoryDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Período inválido ou fora do horizonte publicado",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<InventoryDTO> getInventory(
+            @Parameter(description = "Primeira diária do período", example = "2030-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Última diária do período (inclusive)", example = "2030-01-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Tipo do quarto", example = "DELUXE")
+            @RequestParam(required = false) String type) {
+        return ResponseEntity.ok(inventoryService.findInventory(from, to, type));
+    }
+}
@@ -0,0 +1,87 @@
+package com.fiap.hotel_reservation_system.controller;
+
+import com.fiap.hotel_reservation_system.dto.OccupancyReportDTO;
+import com.fiap.hotel_reservation_system.dto.RevenueReportDTO;
+import com.fiap.hotel_reservation_system.service.ReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@Tag(name = "3. Relatórios", description = "APIs de ocupação e receita diárias por tipo de quarto")
+public class ReportController {
+
+    @Autowired
+    private ReportService reportService;
+
+    @GetMapping("/occupancy")
+    @Operation(
+            summary = "Relatório de ocupação",
+            description = "Retorna, para cada dia do período e tipo de quarto, as diárias vendidas (reservas não " +
+                    "canceladas), a quantidade de quartos ativos e a taxa de ocupação em percentual"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Relatório gerado com sucesso",
+                    content = @Content(schema = @Schema(implementation = OccupancyReportDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Período inválido",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<OccupancyReportDTO>> getOccupancy(
+            @Parameter(description = "Primeiro dia do período", example = "2030-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Último dia do período (inclusive)", example = "2030-01-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Tipo do quarto", example = "DELUXE")
+            @RequestParam(required = false) String type) {
+        return ResponseEntity.ok(reportService.occupancy(from, to, type));
+    }
+
+    @GetMapping("/revenue")
+    @Operation(
+            summary = "Relatório de receita",
+            description = "Retorna, para cada dia do período e tipo de quarto, a receita das reservas finalizadas " +
+                    "(valor do check-out dividido pelas diárias), as diárias finalizadas e as diárias canceladas"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Relatório gerado com sucesso",
+                    content = @Content(schema = @Schema(implementation = RevenueReportDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Período inválido",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<RevenueReportDTO>> getRevenue(
+            @Parameter(description = "Primeiro dia do período", example = "2030-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Último dia do período (inclusive)", example = "2030-01-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Tipo do quarto", example = "DELUXE")
+            @RequestParam(required = false) String type) {
+        return ResponseEntity.ok(reportService.revenue(from, to, type));
+    }
+}
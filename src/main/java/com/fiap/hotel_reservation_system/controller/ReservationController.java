@@ -1,7 +1,10 @@
 package com.fiap.hotel_reservation_system.controller;
 
+import com.fiap.hotel_reservation_system.dto.ReservationBatchResponseDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationPageDTO;
 import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
 import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.service.IdempotencyService;
 import com.fiap.hotel_reservation_system.service.ReservationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,32 +16,70 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/reservations")
 @Tag(name = "2. Reservas", description = "APIs para gerenciamento de reservas do hotel")
 public class ReservationController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     @Autowired
     private ReservationService reservationService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @GetMapping
     @Operation(
             summary = "Listar todas as reservas",
-            description = "Retorna todas as reservas do sistema com seus detalhes completos"
+            description = "Retorna todas as reservas do sistema com seus detalhes completos. Informando cursor ou " +
+                    "limit, retorna uma página ordenada por data de criação e o cursor da próxima página no " +
+                    "cabeçalho X-Next-Cursor"
     )
     @ApiResponse(
             responseCode = "200",
             description = "Reservas listadas com sucesso",
             content = @Content(schema = @Schema(implementation = ReservationResponseDTO.class))
     )
-    public ResponseEntity<List<ReservationResponseDTO>> getAllReservations() {
-        List<ReservationResponseDTO> reservations = reservationService.findAll();
-        return ResponseEntity.ok(reservations);
+    public ResponseEntity<List<ReservationResponseDTO>> getAllReservations(
+            @Parameter(description = "Cursor retornado no cabeçalho X-Next-Cursor da página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de reservas na página", example = "50")
+            @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            List<ReservationResponseDTO> reservations = reservationService.findAll();
+            return ResponseEntity.ok(reservations);
+        }
+        return pageResponse(reservationService.findPage(null, cursor, limit));
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(
+            summary = "Exportar reservas",
+            description = "Transmite todas as reservas (ou apenas as de um status) em NDJSON, uma reserva por linha, " +
+                    "sem carregar o histórico inteiro em memória"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Exportação iniciada com sucesso"
+    )
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @Parameter(description = "Status da reserva", example = "CHECKED_OUT")
+            @RequestParam(required = false) String status) {
+        StreamingResponseBody body = out -> reservationService.exportTo(status, out);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
@@ -52,6 +93,11 @@ public class ReservationController {
                     description = "Reserva encontrada com sucesso",
                     content = @Content(schema = @Schema(implementation = ReservationResponseDTO.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Reserva não mudou desde o ETag informado em If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Reserva não encontrada",
@@ -60,15 +106,22 @@ public class ReservationController {
     })
     public ResponseEntity<ReservationResponseDTO> getReservationById(
             @Parameter(description = "ID único da reserva", example = "f47ac10b-58cc-4372-a567-0e02b2c3d479")
-            @PathVariable String id) {
+            @PathVariable String id,
+            WebRequest request) {
+        // Only the version columns are read to answer a matching If-None-Match. The tag is read before
+        // the reservation, so at worst it is older than the body and the next poll gets a 200.
+        Optional<String> versionTag = reservationService.findVersionTag(id);
+        if (versionTag.isPresent() && request.checkNotModified(versionTag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versionTag.get()).build();
+        }
         ReservationResponseDTO reservation = reservationService.findById(id);
-        return ResponseEntity.ok(reservation);
+        return ResponseEntity.ok().eTag(versionTag.orElse(null)).body(reservation);
     }
 
     @GetMapping("/status/{status}")
     @Operation(
             summary = "Buscar reservas por status",
-            description = "Retorna reservas filtradas por status (CREATED, CHECKED_IN, CHECKED_OUT, CANCELED)"
+            description = "Retorna reservas filtradas por status (CREATED, CHECKED_IN, CHECKED_OUT, CANCELED, NO_SHOW)"
     )
     @ApiResponse(
             responseCode = "200",
@@ -77,15 +130,24 @@ public class ReservationController {
     )
     public ResponseEntity<List<ReservationResponseDTO>> getReservationsByStatus(
             @Parameter(description = "Status da reserva", example = "CREATED")
-            @PathVariable String status) {
-        List<ReservationResponseDTO> reservations = reservationService.findByStatus(status);
-        return ResponseEntity.ok(reservations);
+            @PathVariable String status,
+            @Parameter(description = "Cursor retornado no cabeçalho X-Next-Cursor da página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Quantidade máxima de reservas na página", example = "50")
+            @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            List<ReservationResponseDTO> reservations = reservationService.findByStatus(status);
+            return ResponseEntity.ok(reservations);
+        }
+        return pageResponse(reservationService.findPage(status, cursor, limit));
     }
 
     @PostMapping
     @Operation(
             summary = "Criar nova reserva",
-            description = "Cria uma nova reserva validando disponibilidade do quarto e datas"
+            description = "Cria uma nova reserva validando disponibilidade do quarto e datas. Com o cabeçalho " +
+                    "Idempotency-Key, repetições da mesma requisição devolvem a reserva original com o cabeçalho " +
+                    "Idempotent-Replayed: true"
     )
     @ApiResponses({
             @ApiResponse(
@@ -95,7 +157,7 @@ public class ReservationController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Dados inválidos fornecidos",
+                    description = "Dados inválidos fornecidos ou Idempotency-Key já usada com outros dados",
                     content = @Content
             ),
             @ApiResponse(
@@ -110,9 +172,48 @@ public class ReservationController {
                     required = true,
                     content = @Content(schema = @Schema(implementation = ReservationRequestDTO.class))
             )
-            @Valid @RequestBody ReservationRequestDTO reservationDTO) {
-        ReservationResponseDTO createdReservation = reservationService.create(reservationDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdReservation);
+            @Valid @RequestBody ReservationRequestDTO reservationDTO,
+            @Parameter(description = "Chave única da requisição; repetir a requisição com a mesma chave devolve a " +
+                    "reserva já criada em vez de criar outra", example = "3f1c2a9e-5b7d-4e8f-9a0b-1c2d3e4f5a6b")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            ReservationResponseDTO createdReservation = reservationService.create(reservationDTO);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdReservation);
+        }
+        IdempotencyService.Result result = idempotencyService.create(idempotencyKey, reservationDTO);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return response.body(result.reservation());
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Criar reservas em lote",
+            description = "Cria várias reservas em uma única transação, validando todas contra a disponibilidade atual " +
+                    "dos quartos e retornando o resultado de cada item (CREATED, INVALID, NOT_FOUND ou CONFLICT)"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lote processado com sucesso",
+                    content = @Content(schema = @Schema(implementation = ReservationBatchResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Lote vazio ou maior que o limite permitido",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ReservationBatchResponseDTO> createReservations(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Lista de reservas a serem criadas",
+                    required = true
+            )
+            @RequestBody List<ReservationRequestDTO> reservationDTOs) {
+        ReservationBatchResponseDTO result = reservationService.createAll(reservationDTOs);
+        return ResponseEntity.ok(result);
     }
 
     @PatchMapping("/{id}/checkin")
@@ -201,4 +302,12 @@ public class ReservationController {
         ReservationResponseDTO updatedReservation = reservationService.cancel(id);
         return ResponseEntity.ok(updatedReservation);
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<List<ReservationResponseDTO>> pageResponse(ReservationPageDTO page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
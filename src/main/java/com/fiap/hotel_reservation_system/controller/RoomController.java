@@ -12,11 +12,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/rooms")
@@ -36,8 +40,45 @@ public class RoomController {
             description = "Quartos listados com sucesso",
             content = @Content(schema = @Schema(implementation = RoomResponseDTO.class))
     )
+    @ApiResponse(
+            responseCode = "304",
+            description = "Quartos não mudaram desde o ETag informado em If-None-Match",
+            content = @Content
+    )
     public ResponseEntity<List<RoomResponseDTO>> getAllRooms() {
+        // The catalog is in memory; with a matching If-None-Match the body is not even serialized.
         List<RoomResponseDTO> rooms = roomService.findAll();
+        return ResponseEntity.ok().eTag(roomService.getCatalogVersionTag()).body(rooms);
+    }
+
+    @GetMapping("/available")
+    @Operation(
+            summary = "Buscar quartos disponíveis",
+            description = "Retorna os quartos ativos livres no período informado, filtrando opcionalmente por tipo " +
+                    "e capacidade mínima"
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Quartos disponíveis listados com sucesso",
+                    content = @Content(schema = @Schema(implementation = RoomResponseDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Período inválido",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<List<RoomResponseDTO>> getAvailableRooms(
+            @Parameter(description = "Data de check-in", example = "2030-01-10")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkin,
+            @Parameter(description = "Data de check-out", example = "2030-01-12")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkout,
+            @Parameter(description = "Tipo do quarto", example = "DELUXE")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Capacidade mínima de hóspedes", example = "2")
+            @RequestParam(required = false) Integer minCapacity) {
+        List<RoomResponseDTO> rooms = roomService.findAvailable(checkin, checkout, type, minCapacity);
         return ResponseEntity.ok(rooms);
     }
 
@@ -52,6 +93,11 @@ public class RoomController {
                     description = "Quarto encontrado com sucesso",
                     content = @Content(schema = @Schema(implementation = RoomResponseDTO.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Quarto não mudou desde o ETag informado em If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Quarto não encontrado",
@@ -60,9 +106,14 @@ public class RoomController {
     })
     public ResponseEntity<RoomResponseDTO> getRoomById(
             @Parameter(description = "ID único do quarto", example = "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa")
-            @PathVariable String id) {
+            @PathVariable String id,
+            WebRequest request) {
+        Optional<String> versionTag = roomService.findVersionTag(id);
+        if (versionTag.isPresent() && request.checkNotModified(versionTag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(versionTag.get()).build();
+        }
         RoomResponseDTO room = roomService.findById(id);
-        return ResponseEntity.ok(room);
+        return ResponseEntity.ok().eTag(versionTag.orElse(null)).body(room);
     }
 
     @GetMapping("/status/{status}")
@@ -75,11 +126,16 @@ public class RoomController {
             description = "Quartos filtrados com sucesso",
             content = @Content(schema = @Schema(implementation = RoomResponseDTO.class))
     )
+    @ApiResponse(
+            responseCode = "304",
+            description = "Quartos não mudaram desde o ETag informado em If-None-Match",
+            content = @Content
+    )
     public ResponseEntity<List<RoomResponseDTO>> getRoomsByStatus(
             @Parameter(description = "Status do quarto", example = "ACTIVE")
             @PathVariable String status) {
         List<RoomResponseDTO> rooms = roomService.findByStatus(status);
-        return ResponseEntity.ok(rooms);
+        return ResponseEntity.ok().eTag(roomService.getCatalogVersionTag()).body(rooms);
     }
 
     @PostMapping
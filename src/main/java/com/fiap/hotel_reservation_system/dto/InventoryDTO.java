@@ -0,0 +1,51 @@
+package com.fiap.hotel_reservation_system.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Night-by-night availability from {@code from} to {@code to} (inclusive). Every calendar string has one
+ * character per night, '1' when free and '0' when booked.
+ */
+public class InventoryDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private String type;
+    private List<RoomInventoryDTO> rooms;
+    private int[] freeRooms;
+    private String anyFree;
+    private String allFree;
+
+    public InventoryDTO(LocalDate from, LocalDate to, String type, List<RoomInventoryDTO> rooms, int[] freeRooms,
+                        String anyFree, String allFree) {
+        this.from = from;
+        this.to = to;
+        this.type = type;
+        this.rooms = rooms;
+        this.freeRooms = freeRooms;
+        this.anyFree = anyFree;
+        this.allFree = allFree;
+    }
+
+    // Getters and Setters
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public List<RoomInventoryDTO> getRooms() { return rooms; }
+    public void setRooms(List<RoomInventoryDTO> rooms) { this.rooms = rooms; }
+
+    public int[] getFreeRooms() { return freeRooms; }
+    public void setFreeRooms(int[] freeRooms) { this.freeRooms = freeRooms; }
+
+    public String getAnyFree() { return anyFree; }
+    public void setAnyFree(String anyFree) { this.anyFree = anyFree; }
+
+    public String getAllFree() { return allFree; }
+    public void setAllFree(String allFree) { this.allFree = allFree; }
+}
@@ -0,0 +1,36 @@
+package com.fiap.hotel_reservation_system.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class OccupancyReportDTO {
+    private LocalDate date;
+    private String roomType;
+    private long rooms;
+    private long nightsSold;
+    private BigDecimal occupancyRate;
+
+    public OccupancyReportDTO(LocalDate date, String roomType, long rooms, long nightsSold, BigDecimal occupancyRate) {
+        this.date = date;
+        this.roomType = roomType;
+        this.rooms = rooms;
+        this.nightsSold = nightsSold;
+        this.occupancyRate = occupancyRate;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+
+    public long getRooms() { return rooms; }
+    public void setRooms(long rooms) { this.rooms = rooms; }
+
+    public long getNightsSold() { return nightsSold; }
+    public void setNightsSold(long nightsSold) { this.nightsSold = nightsSold; }
+
+    public BigDecimal getOccupancyRate() { return occupancyRate; }
+    public void setOccupancyRate(BigDecimal occupancyRate) { this.occupancyRate = occupancyRate; }
+}
@@ -0,0 +1,31 @@
+package com.fiap.hotel_reservation_system.dto;
+
+public class ReservationBatchItemResultDTO {
+    private int index;
+    private String result;
+    private String message;
+    private ReservationResponseDTO reservation;
+
+    public ReservationBatchItemResultDTO() {
+    }
+
+    public ReservationBatchItemResultDTO(int index, String result, String message, ReservationResponseDTO reservation) {
+        this.index = index;
+        this.result = result;
+        this.message = message;
+        this.reservation = reservation;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getResult() { return result; }
+    public void setResult(String result) { this.result = result; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public ReservationResponseDTO getReservation() { return reservation; }
+    public void setReservation(ReservationResponseDTO reservation) { this.reservation = reservation; }
+}
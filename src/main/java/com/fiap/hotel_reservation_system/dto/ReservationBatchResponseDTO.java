@@ -0,0 +1,19 @@
+package com.fiap.hotel_reservation_system.dto;
+
+import java.util.List;
+
+public class ReservationBatchResponseDTO {
+    private int created;
+    private int rejected;
+    private List<ReservationBatchItemResultDTO> results;
+
+    // Getters and Setters
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<ReservationBatchItemResultDTO> getResults() { return results; }
+    public void setResults(List<ReservationBatchItemResultDTO> results) { this.results = results; }
+}
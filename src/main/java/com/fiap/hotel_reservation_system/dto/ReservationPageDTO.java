@@ -0,0 +1,20 @@
+package com.fiap.hotel_reservation_system.dto;
+
+import java.util.List;
+
+public class ReservationPageDTO {
+    private List<ReservationResponseDTO> items;
+    private String nextCursor;
+
+    public ReservationPageDTO(List<ReservationResponseDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<ReservationResponseDTO> getItems() { return items; }
+    public void setItems(List<ReservationResponseDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
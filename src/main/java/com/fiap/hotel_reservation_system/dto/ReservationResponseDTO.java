@@ -1,8 +1,13 @@
 package com.fiap.hotel_reservation_system.dto;
 
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 
 public class ReservationResponseDTO {
@@ -16,6 +21,31 @@ public class ReservationResponseDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    public ReservationResponseDTO() {
+    }
+
+    // Flat constructor used by the JPQL constructor-expression projections in ReservationRepository.
+    public ReservationResponseDTO(UUID id, UUID roomId, Integer roomNumber, RoomType roomType, Integer roomCapacity,
+                                  BigDecimal roomPricePerNight, RoomStatus roomStatus, String guestName,
+                                  LocalDate checkinExpected, LocalDate checkoutExpected, ReservationStatus status,
+                                  BigDecimal totalAmount, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id.toString();
+        this.room = new RoomResponseDTO();
+        this.room.setId(roomId.toString());
+        this.room.setNumber(roomNumber);
+        this.room.setType(roomType.name());
+        this.room.setCapacity(roomCapacity);
+        this.room.setPricePerNight(roomPricePerNight);
+        this.room.setStatus(roomStatus.name());
+        this.guestName = guestName;
+        this.checkinExpected = checkinExpected;
+        this.checkoutExpected = checkoutExpected;
+        this.status = status.name();
+        this.totalAmount = totalAmount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
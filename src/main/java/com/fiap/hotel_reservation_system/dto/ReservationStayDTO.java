@@ -0,0 +1,44 @@
+package com.fiap.hotel_reservation_system.dto;
+
+import com.fiap.hotel_reservation_system.model.Reservation;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The fields of a reservation that the daily occupancy and revenue aggregates are built from.
+ */
+public class ReservationStayDTO {
+    private final RoomType roomType;
+    private final LocalDate checkinExpected;
+    private final LocalDate checkoutExpected;
+    private final ReservationStatus status;
+    private final BigDecimal totalAmount;
+
+    public ReservationStayDTO(RoomType roomType, LocalDate checkinExpected, LocalDate checkoutExpected,
+                              ReservationStatus status, BigDecimal totalAmount) {
+        this.roomType = roomType;
+        this.checkinExpected = checkinExpected;
+        this.checkoutExpected = checkoutExpected;
+        this.status = status;
+        this.totalAmount = totalAmount;
+    }
+
+    public static ReservationStayDTO of(Reservation reservation) {
+        return new ReservationStayDTO(reservation.getRoom().getType(), reservation.getCheckinExpected(),
+                reservation.getCheckoutExpected(), reservation.getStatus(), reservation.getTotalAmount());
+    }
+
+    // Getters
+    public RoomType getRoomType() { return roomType; }
+
+    public LocalDate getCheckinExpected() { return checkinExpected; }
+
+    public LocalDate getCheckoutExpected() { return checkoutExpected; }
+
+    public ReservationStatus getStatus() { return status; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+}
@@ -0,0 +1,33 @@
+package com.fiap.hotel_reservation_system.dto;
+
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+
+/**
+ * A reservation's status and the versions its version tag is made of, read together.
+ */
+public class ReservationVersionDTO {
+    private final ReservationStatus status;
+    private final long version;
+    private final long roomVersion;
+
+    public ReservationVersionDTO(ReservationStatus status, Long version, Long roomVersion) {
+        this.status = status;
+        this.version = version;
+        this.roomVersion = roomVersion;
+    }
+
+    /**
+     * The version tag once {@code transitions} more status changes have been stored, each of which
+     * bumps the reservation's version.
+     */
+    public String versionTag(int transitions) {
+        return (version + transitions) + "." + roomVersion;
+    }
+
+    // Getters
+    public ReservationStatus getStatus() { return status; }
+
+    public long getVersion() { return version; }
+
+    public long getRoomVersion() { return roomVersion; }
+}
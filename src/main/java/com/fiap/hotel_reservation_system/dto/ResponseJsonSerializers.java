@@ -0,0 +1,194 @@
+package com.fiap.hotel_reservation_system.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Serializers for the room and reservation responses, which the list endpoints and the NDJSON export
+ * write by the thousand. Each field goes straight to the generator under a pre-encoded name, and dates
+ * are formatted into a reused buffer instead of a new String per value. The output is the same as the
+ * default bean serialization with ISO dates (Spring Boot's default), field order included.
+ */
+@JsonComponent
+public class ResponseJsonSerializers {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NUMBER = new SerializedString("number");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString CAPACITY = new SerializedString("capacity");
+    private static final SerializableString PRICE_PER_NIGHT = new SerializedString("pricePerNight");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString ROOM = new SerializedString("room");
+    private static final SerializableString GUEST_NAME = new SerializedString("guestName");
+    private static final SerializableString CHECKIN_EXPECTED = new SerializedString("checkinExpected");
+    private static final SerializableString CHECKOUT_EXPECTED = new SerializedString("checkoutExpected");
+    private static final SerializableString TOTAL_AMOUNT = new SerializedString("totalAmount");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+
+    // Long enough for ISO_LOCAL_DATE_TIME with nanoseconds: 2030-01-31T23:59:59.123456789
+    private static final ThreadLocal<char[]> DATE_BUFFER = ThreadLocal.withInitial(() -> new char[29]);
+
+    public static class RoomSerializer extends StdSerializer<RoomResponseDTO> {
+
+        public RoomSerializer() {
+            super(RoomResponseDTO.class);
+        }
+
+        @Override
+        public void serialize(RoomResponseDTO room, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeRoom(room, gen);
+        }
+    }
+
+    public static class ReservationSerializer extends StdSerializer<ReservationResponseDTO> {
+
+        public ReservationSerializer() {
+            super(ReservationResponseDTO.class);
+        }
+
+        @Override
+        public void serialize(ReservationResponseDTO reservation, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(reservation);
+            gen.writeFieldName(ID);
+            writeString(reservation.getId(), gen);
+            gen.writeFieldName(ROOM);
+            if (reservation.getRoom() == null) {
+                gen.writeNull();
+            } else {
+                writeRoom(reservation.getRoom(), gen);
+            }
+            gen.writeFieldName(GUEST_NAME);
+            writeString(reservation.getGuestName(), gen);
+            gen.writeFieldName(CHECKIN_EXPECTED);
+            writeDate(reservation.getCheckinExpected(), gen);
+            gen.writeFieldName(CHECKOUT_EXPECTED);
+            writeDate(reservation.getCheckoutExpected(), gen);
+            gen.writeFieldName(STATUS);
+            writeString(reservation.getStatus(), gen);
+            gen.writeFieldName(TOTAL_AMOUNT);
+            writeDecimal(reservation.getTotalAmount(), gen);
+            gen.writeFieldName(CREATED_AT);
+            writeDateTime(reservation.getCreatedAt(), gen);
+            gen.writeFieldName(UPDATED_AT);
+            writeDateTime(reservation.getUpdatedAt(), gen);
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeRoom(RoomResponseDTO room, JsonGenerator gen) throws IOException {
+        gen.writeStartObject(room);
+        gen.writeFieldName(ID);
+        writeString(room.getId(), gen);
+        gen.writeFieldName(NUMBER);
+        writeInteger(room.getNumber(), gen);
+        gen.writeFieldName(TYPE);
+        writeString(room.getType(), gen);
+        gen.writeFieldName(CAPACITY);
+        writeInteger(room.getCapacity(), gen);
+        gen.writeFieldName(PRICE_PER_NIGHT);
+        writeDecimal(room.getPricePerNight(), gen);
+        gen.writeFieldName(STATUS);
+        writeString(room.getStatus(), gen);
+        gen.writeEndObject();
+    }
+
+    private static void writeString(String value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    private static void writeInteger(Integer value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    private static void writeDecimal(BigDecimal value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeDate(LocalDate date, JsonGenerator gen) throws IOException {
+        if (date == null) {
+            gen.writeNull();
+        } else if (date.getYear() < 0 || date.getYear() > 9999) {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE.format(date));
+        } else {
+            char[] buffer = DATE_BUFFER.get();
+            gen.writeString(buffer, 0, formatDate(date, buffer));
+        }
+    }
+
+    private static void writeDateTime(LocalDateTime dateTime, JsonGenerator gen) throws IOException {
+        if (dateTime == null) {
+            gen.writeNull();
+            return;
+        }
+        if (dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+            return;
+        }
+        char[] buffer = DATE_BUFFER.get();
+        int length = formatDate(dateTime.toLocalDate(), buffer);
+        buffer[length++] = 'T';
+        length = twoDigits(dateTime.getHour(), buffer, length);
+        buffer[length++] = ':';
+        length = twoDigits(dateTime.getMinute(), buffer, length);
+        buffer[length++] = ':';
+        length = twoDigits(dateTime.getSecond(), buffer, length);
+        // ISO_LOCAL_DATE_TIME prints only the significant digits of the fraction, and no point without one.
+        int nanos = dateTime.getNano();
+        if (nanos > 0) {
+            buffer[length++] = '.';
+            int digits = 9;
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                digits--;
+            }
+            for (int i = length + digits - 1; i >= length; i--) {
+                buffer[i] = (char) ('0' + nanos % 10);
+                nanos /= 10;
+            }
+            length += digits;
+        }
+        gen.writeString(buffer, 0, length);
+    }
+
+    private static int formatDate(LocalDate date, char[] buffer) {
+        int year = date.getYear();
+        buffer[0] = (char) ('0' + year / 1000);
+        buffer[1] = (char) ('0' + year / 100 % 10);
+        buffer[2] = (char) ('0' + year / 10 % 10);
+        buffer[3] = (char) ('0' + year % 10);
+        buffer[4] = '-';
+        twoDigits(date.getMonthValue(), buffer, 5);
+        buffer[7] = '-';
+        return twoDigits(date.getDayOfMonth(), buffer, 8);
+    }
+
+    private static int twoDigits(int value, char[] buffer, int at) {
+        buffer[at] = (char) ('0' + value / 10);
+        buffer[at + 1] = (char) ('0' + value % 10);
+        return at + 2;
+    }
+}
@@ -0,0 +1,37 @@
+package com.fiap.hotel_reservation_system.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class RevenueReportDTO {
+    private LocalDate date;
+    private String roomType;
+    private long nightsCheckedOut;
+    private BigDecimal revenue;
+    private long canceledNights;
+
+    public RevenueReportDTO(LocalDate date, String roomType, long nightsCheckedOut, BigDecimal revenue,
+                            long canceledNights) {
+        this.date = date;
+        this.roomType = roomType;
+        this.nightsCheckedOut = nightsCheckedOut;
+        this.revenue = revenue;
+        this.canceledNights = canceledNights;
+    }
+
+    // Getters and Setters
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+
+    public long getNightsCheckedOut() { return nightsCheckedOut; }
+    public void setNightsCheckedOut(long nightsCheckedOut) { this.nightsCheckedOut = nightsCheckedOut; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public long getCanceledNights() { return canceledNights; }
+    public void setCanceledNights(long canceledNights) { this.canceledNights = canceledNights; }
+}
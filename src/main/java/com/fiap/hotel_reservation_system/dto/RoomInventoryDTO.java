@@ -0,0 +1,28 @@
+package com.fiap.hotel_reservation_system.dto;
+
+public class RoomInventoryDTO {
+    private String roomId;
+    private Integer number;
+    private String type;
+    private String free;
+
+    public RoomInventoryDTO(String roomId, Integer number, String type, String free) {
+        this.roomId = roomId;
+        this.number = number;
+        this.type = type;
+        this.free = free;
+    }
+
+    // Getters and Setters
+    public String getRoomId() { return roomId; }
+    public void setRoomId(String roomId) { this.roomId = roomId; }
+
+    public Integer getNumber() { return number; }
+    public void setNumber(Integer number) { this.number = number; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getFree() { return free; }
+    public void setFree(String free) { this.free = free; }
+}
@@ -0,0 +1,8 @@
+package com.fiap.hotel_reservation_system.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
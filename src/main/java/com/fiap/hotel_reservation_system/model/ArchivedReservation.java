@@ -0,0 +1,75 @@
+package com.fiap.hotel_reservation_system.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A finished reservation moved to {@code reservations_archive} by the {@code ReservationSweeper}. Rows are
+ * only ever written there with INSERT ... SELECT from {@code reservations}, so the entity is read-only.
+ */
+@Entity
+@Immutable
+@Table(name = "reservations_archive")
+public class ArchivedReservation {
+
+    @Id
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    private Room room;
+
+    @Column(name = "guest_name", nullable = false)
+    private String guestName;
+
+    @Column(name = "checkin_expected", nullable = false)
+    private LocalDate checkinExpected;
+
+    @Column(name = "checkout_expected", nullable = false)
+    private LocalDate checkoutExpected;
+
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    @Column(name = "total_amount")
+    private BigDecimal totalAmount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Getters
+    public UUID getId() { return id; }
+
+    public Room getRoom() { return room; }
+
+    public String getGuestName() { return guestName; }
+
+    public LocalDate getCheckinExpected() { return checkinExpected; }
+
+    public LocalDate getCheckoutExpected() { return checkoutExpected; }
+
+    public ReservationStatus getStatus() { return status; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,10 @@
+package com.fiap.hotel_reservation_system.model;
+
+/**
+ * Enum persisted as a stable SMALLINT code instead of its name or ordinal, so constants can be
+ * renamed or reordered without rewriting stored rows.
+ */
+public interface CodedEnum {
+
+    short getCode();
+}
@@ -0,0 +1,34 @@
+package com.fiap.hotel_reservation_system.model;
+
+import jakarta.persistence.AttributeConverter;
+
+import java.lang.reflect.Array;
+import java.util.EnumSet;
+
+public abstract class CodedEnumConverter<E extends Enum<E> & CodedEnum> implements AttributeConverter<E, Short> {
+
+    private final E[] byCode;
+
+    @SuppressWarnings("unchecked")
+    protected CodedEnumConverter(Class<E> type) {
+        int maxCode = EnumSet.allOf(type).stream().mapToInt(CodedEnum::getCode).max().orElse(-1);
+        this.byCode = (E[]) Array.newInstance(type, maxCode + 1);
+        EnumSet.allOf(type).forEach(constant -> byCode[constant.getCode()] = constant);
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(E attribute) {
+        return attribute == null ? null : attribute.getCode();
+    }
+
+    @Override
+    public E convertToEntityAttribute(Short code) {
+        if (code == null) {
+            return null;
+        }
+        if (code < 0 || code >= byCode.length || byCode[code] == null) {
+            throw new IllegalArgumentException("Unknown code " + code);
+        }
+        return byCode[code];
+    }
+}
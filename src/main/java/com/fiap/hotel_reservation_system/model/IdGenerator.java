@@ -0,0 +1,11 @@
+package com.fiap.hotel_reservation_system.model;
+
+import java.util.UUID;
+
+/**
+ * Source of primary keys for {@link Room} and {@link Reservation}; see {@link IdGenerators}.
+ */
+public interface IdGenerator {
+
+    UUID nextId();
+}
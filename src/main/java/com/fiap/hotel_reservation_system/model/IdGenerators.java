@@ -0,0 +1,23 @@
+package com.fiap.hotel_reservation_system.model;
+
+import java.util.UUID;
+
+/**
+ * Entities assign their id in the constructor, outside of Spring, so the configured
+ * {@link IdGenerator} is published here (see {@code IdGeneratorConfig}).
+ */
+public final class IdGenerators {
+
+    private static volatile IdGenerator generator = new TimeOrderedUuidGenerator();
+
+    private IdGenerators() {
+    }
+
+    public static UUID nextId() {
+        return generator.nextId();
+    }
+
+    public static void use(IdGenerator idGenerator) {
+        generator = idGenerator;
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.hotel_reservation_system.model;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) UUIDs: every insert lands on a random page of the primary key index.
+ */
+public class RandomUuidGenerator implements IdGenerator {
+
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
@@ -1,6 +1,7 @@
 package com.fiap.hotel_reservation_system.model;
 
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -8,12 +9,12 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "reservations")
-public class Reservation {
+public class Reservation implements Persistable<UUID> {
 
     @Id
-    private String id;
+    private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
 
@@ -27,7 +28,7 @@ public class Reservation {
     private LocalDate checkoutExpected;
 
     @Column(nullable = false)
-    private String status;
+    private ReservationStatus status;
 
     @Column(name = "total_amount")
     private BigDecimal totalAmount;
@@ -38,16 +39,32 @@ public class Reservation {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
+    @Transient
+    private boolean newEntity = true;
+
     public Reservation() {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerators.nextId();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
-        this.status = "CREATED";
+        this.status = ReservationStatus.CREATED;
     }
 
+    // Ids are assigned in the constructor, so Spring Data cannot tell new entities apart by id:
+    // without this flag every save() would merge and issue a SELECT before the INSERT.
+    @Override
+    public boolean isNew() { return newEntity; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.newEntity = false; }
+
     // Getters and Setters
-    public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    @Override
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
 
     public Room getRoom() { return room; }
     public void setRoom(Room room) { this.room = room; }
@@ -61,8 +78,8 @@ public class Reservation {
     public LocalDate getCheckoutExpected() { return checkoutExpected; }
     public void setCheckoutExpected(LocalDate checkoutExpected) { this.checkoutExpected = checkoutExpected; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) {
+    public ReservationStatus getStatus() { return status; }
+    public void setStatus(ReservationStatus status) {
         this.status = status;
         this.updatedAt = LocalDateTime.now();
     }
@@ -75,4 +92,7 @@ public class Reservation {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,39 @@
+package com.fiap.hotel_reservation_system.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+public enum ReservationStatus implements CodedEnum {
+    CREATED(0),
+    CHECKED_IN(1),
+    CHECKED_OUT(2),
+    CANCELED(3),
+    // Still CREATED well after the check-in date; set by the sweeper, never by a request.
+    NO_SHOW(4);
+
+    // Statuses that hold the room for their dates.
+    public static final Set<ReservationStatus> ACTIVE_STATUSES = Collections.unmodifiableSet(EnumSet.of(CREATED, CHECKED_IN));
+
+    // Statuses no transition leaves.
+    public static final Set<ReservationStatus> FINAL_STATUSES = Collections.unmodifiableSet(EnumSet.of(CHECKED_OUT, CANCELED, NO_SHOW));
+
+    private final short code;
+
+    ReservationStatus(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() { return code; }
+
+    public static Optional<ReservationStatus> fromName(String name) {
+        for (ReservationStatus status : values()) {
+            if (status.name().equals(name)) {
+                return Optional.of(status);
+            }
+        }
+        return Optional.empty();
+    }
+}
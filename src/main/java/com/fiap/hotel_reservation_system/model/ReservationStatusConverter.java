@@ -0,0 +1,11 @@
+package com.fiap.hotel_reservation_system.model;
+
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class ReservationStatusConverter extends CodedEnumConverter<ReservationStatus> {
+
+    public ReservationStatusConverter() {
+        super(ReservationStatus.class);
+    }
+}
@@ -9,13 +9,13 @@ import java.util.UUID;
 public class Room {
 
     @Id
-    private String id;
+    private UUID id;
 
     @Column(nullable = false, unique = true)
     private Integer number;
 
     @Column(nullable = false)
-    private String type;
+    private RoomType type;
 
     @Column(nullable = false)
     private Integer capacity;
@@ -24,21 +24,24 @@ public class Room {
     private BigDecimal pricePerNight;
 
     @Column(nullable = false)
-    private String status;
+    private RoomStatus status;
+
+    @Version
+    private Long version;
 
     public Room() {
-        this.id = UUID.randomUUID().toString();
+        this.id = IdGenerators.nextId();
     }
 
     // Getters and Setters
-    public String getId() { return id; }
-    public void setId(String id) { this.id = id; }
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
 
     public Integer getNumber() { return number; }
     public void setNumber(Integer number) { this.number = number; }
 
-    public String getType() { return type; }
-    public void setType(String type) { this.type = type; }
+    public RoomType getType() { return type; }
+    public void setType(RoomType type) { this.type = type; }
 
     public Integer getCapacity() { return capacity; }
     public void setCapacity(Integer capacity) { this.capacity = capacity; }
@@ -46,6 +49,9 @@ public class Room {
     public BigDecimal getPricePerNight() { return pricePerNight; }
     public void setPricePerNight(BigDecimal pricePerNight) { this.pricePerNight = pricePerNight; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.fiap.hotel_reservation_system.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.util.UUID;
+
+@Entity
+@Table(name = "room_locks")
+public class RoomLock implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "room_id")
+    private UUID roomId;
+
+    @Transient
+    private boolean newEntity = true;
+
+    public RoomLock() {
+    }
+
+    public RoomLock(UUID roomId) {
+        this.roomId = roomId;
+    }
+
+    @Override
+    public boolean isNew() { return newEntity; }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.newEntity = false; }
+
+    // Getters and Setters
+    @Override
+    public UUID getId() { return roomId; }
+
+    public UUID getRoomId() { return roomId; }
+    public void setRoomId(UUID roomId) { this.roomId = roomId; }
+}
@@ -0,0 +1,26 @@
+package com.fiap.hotel_reservation_system.model;
+
+import java.util.Optional;
+
+public enum RoomStatus implements CodedEnum {
+    ACTIVE(0),
+    INACTIVE(1);
+
+    private final short code;
+
+    RoomStatus(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() { return code; }
+
+    public static Optional<RoomStatus> fromName(String name) {
+        for (RoomStatus status : values()) {
+            if (status.name().equals(name)) {
+                return Optional.of(status);
+            }
+        }
+        return Optional.empty();
+    }
+}
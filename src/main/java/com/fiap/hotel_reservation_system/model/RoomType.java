@@ -0,0 +1,27 @@
+package com.fiap.hotel_reservation_system.model;
+
+import java.util.Optional;
+
+public enum RoomType implements CodedEnum {
+    STANDARD(0),
+    DELUXE(1),
+    SUITE(2);
+
+    private final short code;
+
+    RoomType(int code) {
+        this.code = (short) code;
+    }
+
+    @Override
+    public short getCode() { return code; }
+
+    public static Optional<RoomType> fromName(String name) {
+        for (RoomType type : values()) {
+            if (type.name().equals(name)) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+}
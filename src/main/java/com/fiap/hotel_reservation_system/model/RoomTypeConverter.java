@@ -0,0 +1,11 @@
+package com.fiap.hotel_reservation_system.model;
+
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class RoomTypeConverter extends CodedEnumConverter<RoomType> {
+
+    public RoomTypeConverter() {
+        super(RoomType.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.fiap.hotel_reservation_system.model;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version 7 UUIDs (RFC 9562): 48-bit Unix milliseconds, a 12-bit sequence in {@code rand_a} and 62
+ * random bits. New keys always sort after the previous ones, so inserts append to the right edge of
+ * the primary key index instead of splitting pages all over it.
+ *
+ * Ids are strictly increasing across all threads of the generator: the timestamp and sequence are
+ * advanced together with one atomic update, a full sequence borrows the next millisecond and a clock
+ * that steps back keeps counting from the last issued value.
+ */
+public class TimeOrderedUuidGenerator implements IdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+
+    private final Clock clock;
+
+    // (unix millis << SEQUENCE_BITS) | sequence of the last issued id
+    private final AtomicLong lastTimestamp = new AtomicLong();
+
+    public TimeOrderedUuidGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    public TimeOrderedUuidGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID nextId() {
+        long now = clock.millis() << SEQUENCE_BITS;
+        long timestamp = lastTimestamp.accumulateAndGet(now, (last, current) -> Math.max(current, last + 1));
+
+        long mostSigBits = (timestamp >>> SEQUENCE_BITS) << 16
+                | 0x7000L
+                | (timestamp & ((1L << SEQUENCE_BITS) - 1));
+        long leastSigBits = ThreadLocalRandom.current().nextLong() >>> 2 | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
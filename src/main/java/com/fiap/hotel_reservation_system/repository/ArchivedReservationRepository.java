@@ -0,0 +1,98 @@
+package com.fiap.hotel_reservation_system.repository;
+
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationStayDTO;
+import com.fiap.hotel_reservation_system.model.ArchivedReservation;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Read side of reservations_archive, mirroring the history queries of {@link ReservationRepository}
+ * so that the service can answer them from both tables.
+ */
+@Repository
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, UUID> {
+
+    String RESPONSE_PROJECTION = "SELECT new com.fiap.hotel_reservation_system.dto.ReservationResponseDTO(" +
+            "r.id, rm.id, rm.number, rm.type, rm.capacity, rm.pricePerNight, rm.status, r.guestName, " +
+            "r.checkinExpected, r.checkoutExpected, r.status, r.totalAmount, r.createdAt, r.updatedAt) " +
+            "FROM ArchivedReservation r JOIN r.room rm ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION)
+    List<ReservationResponseDTO> findAllProjected();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE r.status = :status")
+    List<ReservationResponseDTO> findProjectedByStatus(@Param("status") ReservationStatus status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE r.id = :id")
+    Optional<ReservationResponseDTO> findProjectedById(@Param("id") UUID id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "ORDER BY r.createdAt, r.id")
+    List<ReservationResponseDTO> findFirstPage(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE r.createdAt > :createdAt " +
+            "OR (r.createdAt = :createdAt AND r.id > :id) ORDER BY r.createdAt, r.id")
+    List<ReservationResponseDTO> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") UUID id,
+                                               Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE r.status = :status ORDER BY r.createdAt, r.id")
+    List<ReservationResponseDTO> findFirstPageByStatus(@Param("status") ReservationStatus status, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE r.status = :status AND (r.createdAt > :createdAt " +
+            "OR (r.createdAt = :createdAt AND r.id > :id)) ORDER BY r.createdAt, r.id")
+    List<ReservationResponseDTO> findPageByStatusAfter(@Param("status") ReservationStatus status,
+                                                       @Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") UUID id,
+                                                       Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_PROJECTION + "WHERE :status IS NULL OR r.status = :status ORDER BY r.createdAt, r.id")
+    Stream<ReservationResponseDTO> streamAll(@Param("status") ReservationStatus status);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.fiap.hotel_reservation_system.dto.ReservationStayDTO(" +
+            "rm.type, r.checkinExpected, r.checkoutExpected, r.status, r.totalAmount) " +
+            "FROM ArchivedReservation r JOIN r.room rm")
+    Stream<ReservationStayDTO> streamAllStays();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.fiap.hotel_reservation_system.dto.ReservationStayDTO(" +
+            "rm.type, r.checkinExpected, r.checkoutExpected, r.status, r.totalAmount) " +
+            "FROM ArchivedReservation r JOIN r.room rm WHERE r.checkinExpected <= :to AND r.checkoutExpected > :from")
+    Stream<ReservationStayDTO> streamStaysBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT CONCAT(CAST(r.version AS String), '.', CAST(rm.version AS String)) " +
+            "FROM ArchivedReservation r JOIN r.room rm WHERE r.id = :id")
+    Optional<String> findVersionTagById(@Param("id") UUID id);
+}
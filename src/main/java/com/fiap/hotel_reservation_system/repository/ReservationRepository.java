@@ -1,33 +1,218 @@
 package com.fiap.hotel_reservation_system.repository;
 
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationStayDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationVersionDTO;
 import com.fiap.hotel_reservation_system.model.Reservation;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
 import com.fiap.hotel_reservation_system.model.Room;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, String> {
+public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
 
     List<Reservation> findByRoom(Room room);
-    List<Reservation> findByStatus(String status);
+    List<Reservation> findByStatus(ReservationStatus status);
+    List<Reservation> findByStatusIn(Collection<ReservationStatus> statuses);
+    long countByStatus(ReservationStatus status);
 
-    @Query("SELECT r FROM Reservation r WHERE r.room = :room AND r.status IN ('CREATED', 'CHECKED_IN') " +
+    interface StatusCount {
+        ReservationStatus getStatus();
+        long getCount();
+    }
+
+    @Query("SELECT r.status AS status, COUNT(r) AS count FROM Reservation r GROUP BY r.status")
+    List<StatusCount> countGroupedByStatus();
+
+    // Selects straight into the response DTO in one joined query: no entity hydration, no
+    // dirty-checking snapshots and no extra select for the room.
+    String RESPONSE_PROJECTION = "SELECT new com.fiap.hotel_reservation_system.dto.ReservationResponseDTO(" +
+            "r.id, rm.id, rm.number, rm.type, rm.capacity, rm.pricePerNight, rm.status, r.guestName, " +
+            "r.checkinExpected, r.checkoutExpected, r.status, r.totalAmount, r.createdAt, r.updatedAt) " +
+            "FROM Reservation r JOIN r.room rm ";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION)
+    List<ReservationResponseDTO> findAllProjected();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE r.status = :status")
+    List<ReservationResponseDTO> findProjectedByStatus(@Param("status") ReservationStatus status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE r.id = :id")
+    Optional<ReservationResponseDTO> findProjectedById(@Param("id") UUID id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "ORDER BY r.createdAt, r.id")
+    List<ReservationResponseDTO> findFirstPage(Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE r.createdAt > :createdAt " +
+            "OR (r.createdAt = :createdAt AND r.id > :id) ORDER BY r.createdAt, r.id")
+    List<ReservationResponseDTO> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") UUID id,
+                                               Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE r.status = :status ORDER BY r.createdAt, r.id")
+    List<ReservationResponseDTO> findFirstPageByStatus(@Param("status") ReservationStatus status, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE r.status = :status AND (r.createdAt > :createdAt " +
+            "OR (r.createdAt = :createdAt AND r.id > :id)) ORDER BY r.createdAt, r.id")
+    List<ReservationResponseDTO> findPageByStatusAfter(@Param("status") ReservationStatus status,
+                                                       @Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") UUID id,
+                                                       Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_PROJECTION + "WHERE :status IS NULL OR r.status = :status ORDER BY r.createdAt, r.id")
+    Stream<ReservationResponseDTO> streamAll(@Param("status") ReservationStatus status);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.fiap.hotel_reservation_system.dto.ReservationStayDTO(" +
+            "rm.type, r.checkinExpected, r.checkoutExpected, r.status, r.totalAmount) " +
+            "FROM Reservation r JOIN r.room rm")
+    Stream<ReservationStayDTO> streamAllStays();
+
+    // Stays with at least one night (check-in up to the day before check-out) between from and to.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.fiap.hotel_reservation_system.dto.ReservationStayDTO(" +
+            "rm.type, r.checkinExpected, r.checkoutExpected, r.status, r.totalAmount) " +
+            "FROM Reservation r JOIN r.room rm WHERE r.checkinExpected <= :to AND r.checkoutExpected > :from")
+    Stream<ReservationStayDTO> streamStaysBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT r FROM Reservation r WHERE r.room = :room AND r.status IN :statuses " +
             "AND ((r.checkinExpected <= :checkout AND r.checkoutExpected >= :checkin))")
-    List<Reservation> findOverlappingReservations(@Param("room") Room room,
-                                                  @Param("checkin") LocalDate checkin,
-                                                  @Param("checkout") LocalDate checkout);
+    List<Reservation> findOverlapping(@Param("room") Room room,
+                                      @Param("statuses") Collection<ReservationStatus> statuses,
+                                      @Param("checkin") LocalDate checkin,
+                                      @Param("checkout") LocalDate checkout);
+
+    default List<Reservation> findOverlappingReservations(Room room, LocalDate checkin, LocalDate checkout) {
+        return findOverlapping(room, ReservationStatus.ACTIVE_STATUSES, checkin, checkout);
+    }
+
+    @Query("SELECT r FROM Reservation r WHERE r.status IN :statuses " +
+            "AND r.checkinExpected <= :to AND r.checkoutExpected >= :from")
+    List<Reservation> findAllOverlapping(@Param("statuses") Collection<ReservationStatus> statuses,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    default List<Reservation> findActiveBetween(LocalDate from, LocalDate to) {
+        return findAllOverlapping(ReservationStatus.ACTIVE_STATUSES, from, to);
+    }
+
+    @Query("SELECT r FROM Reservation r WHERE r.room.id IN :roomIds AND r.status IN :statuses")
+    List<Reservation> findByRoomIdsAndStatusIn(@Param("roomIds") Collection<UUID> roomIds,
+                                               @Param("statuses") Collection<ReservationStatus> statuses);
+
+    default List<Reservation> findActiveByRoomIds(Collection<UUID> roomIds) {
+        return findByRoomIdsAndStatusIn(roomIds, ReservationStatus.ACTIVE_STATUSES);
+    }
+
+    Optional<Reservation> findByIdAndStatus(UUID id, ReservationStatus status);
+
+    @Query("SELECT r.status FROM Reservation r WHERE r.id = :id")
+    Optional<ReservationStatus> findStatusById(@Param("id") UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findByIdForUpdate(@Param("id") UUID id);
+
+    // Only matches if nobody has changed the row since it was read at the given version.
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = :to, r.totalAmount = :totalAmount, r.updatedAt = :updatedAt, " +
+            "r.version = r.version + 1 WHERE r.id = :id AND r.version = :version")
+    int applyTransitionIfUnchanged(@Param("id") UUID id,
+                                   @Param("version") long version,
+                                   @Param("to") ReservationStatus to,
+                                   @Param("totalAmount") BigDecimal totalAmount,
+                                   @Param("updatedAt") LocalDateTime updatedAt);
+
+    // The response embeds the room, so its version is part of the reservation's version tag.
+    @Query("SELECT CONCAT(CAST(r.version AS String), '.', CAST(rm.version AS String)) " +
+            "FROM Reservation r JOIN r.room rm WHERE r.id = :id")
+    Optional<String> findVersionTagById(@Param("id") UUID id);
+
+    @Query("SELECT new com.fiap.hotel_reservation_system.dto.ReservationVersionDTO(r.status, r.version, rm.version) " +
+            "FROM Reservation r JOIN r.room rm WHERE r.id = :id")
+    Optional<ReservationVersionDTO> findVersionById(@Param("id") UUID id);
+
+    // Guarded by the expected current status, so re-applying a transition is a no-op.
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = :to, r.totalAmount = :totalAmount, r.updatedAt = :updatedAt, " +
+            "r.version = r.version + 1 WHERE r.id = :id AND r.status = :from")
+    int applyTransition(@Param("id") UUID id,
+                        @Param("from") ReservationStatus from,
+                        @Param("to") ReservationStatus to,
+                        @Param("totalAmount") BigDecimal totalAmount,
+                        @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Sweeper: CREATED reservations whose check-in date has passed.
+    @Query("SELECT r FROM Reservation r WHERE r.status = :status AND r.checkinExpected < :before")
+    List<Reservation> findByStatusAndCheckinBefore(@Param("status") ReservationStatus status,
+                                                   @Param("before") LocalDate before,
+                                                   Limit limit);
+
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = :to, r.updatedAt = :updatedAt, r.version = r.version + 1 " +
+            "WHERE r.id IN :ids AND r.status = :from")
+    int applyTransitionToAll(@Param("ids") Collection<UUID> ids,
+                             @Param("from") ReservationStatus from,
+                             @Param("to") ReservationStatus to,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT r.id FROM Reservation r WHERE r.id IN :ids AND r.status = :status")
+    List<UUID> findIdsInStatus(@Param("ids") Collection<UUID> ids, @Param("status") ReservationStatus status);
+
+    // Sweeper: finished reservations whose stay ended before the given date, in no particular order
+    // (every chunk is moved out of the table, so the next query finds the next rows).
+    @Query("SELECT r.id FROM Reservation r WHERE r.status IN :statuses AND r.checkoutExpected < :before")
+    List<UUID> findIdsToArchive(@Param("statuses") Collection<ReservationStatus> statuses,
+                                @Param("before") LocalDate before,
+                                Limit limit);
 
-    @Query("SELECT r FROM Reservation r WHERE r.id = :id AND r.status = 'CREATED'")
-    Optional<Reservation> findByIdAndCreatedStatus(String id);
+    @Modifying
+    @Query(value = "INSERT INTO reservations_archive (id, room_id, guest_name, checkin_expected, checkout_expected, " +
+            "status, total_amount, created_at, updated_at, version, archived_at) " +
+            "SELECT id, room_id, guest_name, checkin_expected, checkout_expected, " +
+            "status, total_amount, created_at, updated_at, version, :archivedAt " +
+            "FROM reservations WHERE id IN (:ids)", nativeQuery = true)
+    int copyToArchive(@Param("ids") Collection<UUID> ids, @Param("archivedAt") LocalDateTime archivedAt);
 
-    @Query("SELECT r FROM Reservation r WHERE r.id = :id AND r.status = 'CHECKED_IN'")
-    Optional<Reservation> findByIdAndCheckedInStatus(String id);
+    @Modifying
+    @Query("DELETE FROM Reservation r WHERE r.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<UUID> ids);
 }
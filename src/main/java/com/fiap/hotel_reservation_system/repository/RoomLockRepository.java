@@ -0,0 +1,19 @@
+package com.fiap.hotel_reservation_system.repository;
+
+import com.fiap.hotel_reservation_system.model.RoomLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RoomLockRepository extends JpaRepository<RoomLock, UUID> {
+
+    // Locks the room's row until the transaction ends; returns nothing, without waiting, while another
+    // transaction holds it (or when the row does not exist yet).
+    @Query(value = "SELECT 1 FROM room_locks WHERE room_id = :roomId FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Integer> lockIfFree(@Param("roomId") UUID roomId);
+}
@@ -1,16 +1,40 @@
 package com.fiap.hotel_reservation_system.repository;
 
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
 import com.fiap.hotel_reservation_system.model.Room;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface RoomRepository extends JpaRepository<Room, String> {
+public interface RoomRepository extends JpaRepository<Room, UUID> {
 
     Optional<Room> findByNumber(Integer number);
-    List<Room> findByStatus(String status);
-    List<Room> findByTypeAndStatus(String type, String status);
+    List<Room> findByStatus(RoomStatus status);
+    List<Room> findByTypeAndStatus(RoomType type, RoomStatus status);
+
+    @Query("SELECT rm FROM Room rm WHERE rm.status = :roomStatus AND (:type IS NULL OR rm.type = :type) " +
+            "AND rm.capacity >= :minCapacity AND NOT EXISTS (SELECT r.id FROM Reservation r WHERE r.room = rm " +
+            "AND r.status IN :reservationStatuses " +
+            "AND r.checkinExpected <= :checkout AND r.checkoutExpected >= :checkin) " +
+            "ORDER BY rm.number")
+    List<Room> findAvailable(@Param("roomStatus") RoomStatus roomStatus,
+                             @Param("reservationStatuses") Collection<ReservationStatus> reservationStatuses,
+                             @Param("type") RoomType type,
+                             @Param("minCapacity") int minCapacity,
+                             @Param("checkin") LocalDate checkin,
+                             @Param("checkout") LocalDate checkout);
+
+    default List<Room> findAvailable(RoomType type, int minCapacity, LocalDate checkin, LocalDate checkout) {
+        return findAvailable(RoomStatus.ACTIVE, ReservationStatus.ACTIVE_STATUSES, type, minCapacity, checkin, checkout);
+    }
 }
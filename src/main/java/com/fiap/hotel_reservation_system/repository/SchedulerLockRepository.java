@@ -0,0 +1,31 @@
+package com.fiap.hotel_reservation_system.repository;
+
+import com.fiap.hotel_reservation_system.model.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    // Only matches once the previous holder's lease has run out.
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :until, l.lockedAt = :now, l.lockedBy = :node " +
+            "WHERE l.name = :name AND l.lockedUntil <= :now")
+    int acquireIfExpired(@Param("name") String name,
+                         @Param("until") LocalDateTime until,
+                         @Param("now") LocalDateTime now,
+                         @Param("node") String node);
+
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedUntil = :until " +
+            "WHERE l.name = :name AND l.lockedBy = :node AND l.lockedAt = :lockedAt")
+    int release(@Param("name") String name,
+                @Param("until") LocalDateTime until,
+                @Param("node") String node,
+                @Param("lockedAt") LocalDateTime lockedAt);
+}
@@ -0,0 +1,138 @@
+package com.fiap.hotel_reservation_system.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the requests in flight with an AIMD limit: every request that completes within
+ * {@code latency-threshold} while the limit is in use raises it by 1/limit (about one per limit's worth
+ * of requests), and every slow or failed request multiplies it by {@code backoff-ratio}. Requests over
+ * the limit wait up to {@code max-wait} in a queue of at most {@code max-queue}; the rest are rejected
+ * straight away.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final long maxWaitNanos;
+    private final int maxQueue;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final LongAdder rejections = new LongAdder();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+
+    public AdaptiveConcurrencyLimiter(@Value("${hotel.admission.initial-limit:20}") int initialLimit,
+                                      @Value("${hotel.admission.min-limit:2}") int minLimit,
+                                      @Value("${hotel.admission.max-limit:200}") int maxLimit,
+                                      @Value("${hotel.admission.backoff-ratio:0.9}") double backoffRatio,
+                                      @Value("${hotel.admission.latency-threshold:PT0.5S}") Duration latencyThreshold,
+                                      @Value("${hotel.admission.max-wait:PT0.05S}") Duration maxWait,
+                                      @Value("${hotel.admission.max-queue:50}") int maxQueue) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxQueue = maxQueue;
+    }
+
+    /**
+     * Admits a request, waiting for a free slot for at most {@code max-wait}.
+     *
+     * @return false when the request was rejected; otherwise {@link #release} must be called once it completes
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (waiting >= maxQueue) {
+                rejections.increment();
+                return false;
+            }
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        rejections.increment();
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejections.increment();
+                return false;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        lock.lock();
+        try {
+            int used = inFlight--;
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (used * 2 >= limit) {
+                // Only grow while the limit is actually what bounds the load.
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            if (waiting > 0 && inFlight < (int) limit) {
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejectionCount() { return rejections.sum(); }
+}
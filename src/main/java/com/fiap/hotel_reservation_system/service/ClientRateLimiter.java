@@ -0,0 +1,115 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets per caller: {@code rate} tokens per second refill a bucket of {@code burst} tokens and
+ * every booking takes one. Callers are keyed on their remote address; the client id they send only picks
+ * a sub-bucket within that address, for up to {@code max-clients-per-address} ids. Requests without an id,
+ * or with ids past that limit, share the address's own bucket, so rotating the id buys nothing.
+ *
+ * A batch takes one token per booking. It only waits for as many tokens as a full bucket holds and takes
+ * the rest as debt, which the caller's next bookings wait out, so batches larger than the burst still go
+ * through at the configured rate.
+ *
+ * At most {@code max-addresses} addresses are tracked and those that went quiet are dropped after
+ * {@code idle-expiry}; a returning address starts with full buckets again.
+ */
+@Component
+public class ClientRateLimiter {
+
+    private final double tokensPerNano;
+    private final double burst;
+    private final int maxClientsPerAddress;
+    private final Cache<String, AddressBuckets> buckets;
+    private final LongAdder rejections = new LongAdder();
+
+    public ClientRateLimiter(@Value("${hotel.rate-limit.bookings.per-second:20}") double perSecond,
+                             @Value("${hotel.rate-limit.bookings.burst:40}") int burst,
+                             @Value("${hotel.rate-limit.idle-expiry:PT10M}") Duration idleExpiry,
+                             @Value("${hotel.rate-limit.max-addresses:100000}") long maxAddresses,
+                             @Value("${hotel.rate-limit.max-clients-per-address:8}") int maxClientsPerAddress) {
+        this.tokensPerNano = perSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.maxClientsPerAddress = maxClientsPerAddress;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpiry)
+                .maximumSize(maxAddresses)
+                .build();
+    }
+
+    /**
+     * Takes a token per booking from the caller's bucket.
+     *
+     * @param client the client id sent with the request, or {@code null}
+     * @return 0 when the tokens were taken, otherwise how many nanoseconds until enough are available
+     */
+    public long tryAcquire(String address, String client, int bookings) {
+        long now = System.nanoTime();
+        long wait = buckets.get(address, key -> new AddressBuckets(new TokenBucket(burst, now)))
+                .bucketFor(client, maxClientsPerAddress, burst, now)
+                .tryTake(now, bookings, tokensPerNano, burst);
+        if (wait > 0) {
+            rejections.increment();
+        }
+        return wait;
+    }
+
+    public long getRejectionCount() { return rejections.sum(); }
+
+    public long getAddressCount() { return buckets.estimatedSize(); }
+
+    private static final class AddressBuckets {
+        private final TokenBucket shared;
+        private final Map<String, TokenBucket> clients = new HashMap<>();
+
+        private AddressBuckets(TokenBucket shared) {
+            this.shared = shared;
+        }
+
+        synchronized TokenBucket bucketFor(String client, int maxClients, double burst, long now) {
+            if (client == null) {
+                return shared;
+            }
+            TokenBucket bucket = clients.get(client);
+            if (bucket == null) {
+                if (clients.size() >= maxClients) {
+                    return shared;
+                }
+                bucket = new TokenBucket(burst, now);
+                clients.put(client, bucket);
+            }
+            return bucket;
+        }
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+
+        synchronized long tryTake(long now, int count, double tokensPerNano, double burst) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            double needed = Math.min(count, burst);
+            if (tokens >= needed) {
+                tokens -= count;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((needed - tokens) / tokensPerNano));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.exception.ConflictException;
+import com.fiap.hotel_reservation_system.model.RoomLock;
+import com.fiap.hotel_reservation_system.repository.RoomLockRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-room locks shared by every node that uses the same database, for running several instances of
+ * the application. {@link RoomLockManager} only orders bookings within one JVM; in cluster mode the
+ * booking transaction also locks the room's row in {@code room_locks} before its availability check,
+ * so a booking on another node waits until this one has committed and then sees it.
+ *
+ * The lock lives exactly as long as the booking transaction and the database drops it if the node dies.
+ * It is taken with {@code SKIP LOCKED} and retried with a short backoff, which never leaves a connection
+ * parked on a lock wait and gives up with a 409 after {@code lock-timeout}. Bookings of different rooms
+ * lock different rows and never wait for each other.
+ */
+@Component
+public class ClusterRoomLocks {
+
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final RoomLockRepository roomLockRepository;
+    private final TransactionTemplate newTransaction;
+    private final boolean enabled;
+    private final long timeoutNanos;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public ClusterRoomLocks(RoomLockRepository roomLockRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${hotel.booking.cluster.enabled:false}") boolean enabled,
+                            @Value("${hotel.booking.cluster.lock-timeout:PT5S}") Duration timeout,
+                            @Value("${hotel.booking.write-behind.enabled:false}") boolean writeBehind) {
+        if (enabled && writeBehind) {
+            // The transition log and its pending transitions live on one node only.
+            throw new IllegalStateException("Cluster mode cannot be combined with write-behind transitions");
+        }
+        this.roomLockRepository = roomLockRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Locks the given rooms until the current transaction ends. Rooms are locked one at a time in a
+     * fixed order, so two batches sharing rooms cannot hold each other's locks forever.
+     */
+    public void lock(Collection<UUID> roomIds) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Room locks must be taken inside the booking transaction");
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        for (UUID roomId : new TreeSet<>(roomIds)) {
+            lock(roomId, deadline);
+        }
+    }
+
+    private void lock(UUID roomId, long deadline) {
+        long backoff = TimeUnit.MICROSECONDS.toNanos(500);
+        boolean waited = false;
+        while (roomLockRepository.lockIfFree(roomId).isEmpty()) {
+            if (!roomLockRepository.existsById(roomId)) {
+                addRoom(roomId);
+                continue;
+            }
+            if (System.nanoTime() + backoff > deadline) {
+                timeouts.increment();
+                throw new ConflictException("Room is being booked by another request, try again");
+            }
+            waited = true;
+            try {
+                TimeUnit.NANOSECONDS.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the room lock", e);
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+        }
+        acquired.increment();
+        if (waited) {
+            contended.increment();
+        }
+    }
+
+    /**
+     * Creates the lock row of a new room. Rooms that get here without one (inserted by other means)
+     * have it created on their first booking in cluster mode.
+     */
+    public void addRoom(UUID roomId) {
+        try {
+            // In its own transaction, so a duplicate inserted by another node does not abort the booking.
+            newTransaction.executeWithoutResult(status -> roomLockRepository.saveAndFlush(new RoomLock(roomId)));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first.
+        }
+    }
+
+    public long getAcquiredCount() { return acquired.sum(); }
+
+    public long getContendedCount() { return contended.sum(); }
+
+    public long getTimeoutCount() { return timeouts.sum(); }
+}
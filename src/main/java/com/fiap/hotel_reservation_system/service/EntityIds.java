@@ -0,0 +1,25 @@
+package com.fiap.hotel_reservation_system.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Ids travel as strings in the API and as native UUIDs everywhere else; a malformed id simply
+ * matches nothing.
+ */
+final class EntityIds {
+
+    private EntityIds() {
+    }
+
+    static Optional<UUID> parse(String id) {
+        if (id == null || id.length() != 36) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.exception.BusinessException;
+import com.fiap.hotel_reservation_system.model.IdempotencyKey;
+import com.fiap.hotel_reservation_system.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Idempotency-Key handling for reservation creation. The first request with a key creates the
+ * reservation and stores its response in the same transaction; retries with the key get that
+ * response back, from a bounded in-memory cache or else from the idempotency_keys table, without
+ * running the booking again. Concurrent retries wait for the request that is already running.
+ *
+ * A cached response expires when its row does ({@code expires_at}), not a full TTL after it was
+ * cached, so a response read back from the table is never served past the row's expiry.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    public record Result(ReservationResponseDTO reservation, boolean replayed) {
+    }
+
+    private record StoredResponse(String requestHash, ReservationResponseDTO response, LocalDateTime expiresAt) {
+    }
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Duration ttl;
+    private final Cache<String, StoredResponse> responses;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder storeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public IdempotencyService(@Value("${hotel.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${hotel.idempotency.cache-size:10000}") long cacheSize) {
+        this.ttl = ttl;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(Expiry.creating((String key, StoredResponse stored) -> {
+                    Duration left = Duration.between(LocalDateTime.now(), stored.expiresAt());
+                    return left.isNegative() ? Duration.ZERO : left;
+                }))
+                .build();
+    }
+
+    public Result create(String key, ReservationRequestDTO dto) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(dto);
+
+        StoredResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return replay(cached, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            cacheHits.increment();
+            return replay(await(running), requestHash);
+        }
+
+        try {
+            Optional<StoredResponse> stored = findStored(key);
+            if (stored.isPresent()) {
+                storeHits.increment();
+                complete(key, mine, stored.get());
+                return replay(stored.get(), requestHash);
+            }
+
+            misses.increment();
+            LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+            ReservationResponseDTO created;
+            try {
+                created = reservationService.create(dto, response -> store(key, requestHash, expiresAt, response));
+            } catch (DataIntegrityViolationException e) {
+                // Another instance stored the key first; its reservation stands and ours was rolled back.
+                StoredResponse winner = findStored(key).orElseThrow(() -> e);
+                complete(key, mine, winner);
+                return replay(winner, requestHash);
+            }
+            complete(key, mine, new StoredResponse(requestHash, created, expiresAt));
+            return new Result(created, false);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hotel.idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    public long getCacheHitCount() { return cacheHits.sum(); }
+
+    public long getStoreHitCount() { return storeHits.sum(); }
+
+    public long getMissCount() { return misses.sum(); }
+
+    public long getCacheSize() { return responses.estimatedSize(); }
+
+    private void complete(String key, CompletableFuture<StoredResponse> future, StoredResponse response) {
+        responses.put(key, response);
+        future.complete(response);
+    }
+
+    private Result replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new BusinessException("Idempotency-Key was already used for a different reservation request");
+        }
+        return new Result(stored.response(), true);
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Optional<StoredResponse> findStored(String key) {
+        return idempotencyKeyRepository.findById(key)
+                .filter(stored -> stored.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(stored -> new StoredResponse(stored.getRequestHash(), readResponse(stored.getResponse()),
+                        stored.getExpiresAt()));
+    }
+
+    private void store(String key, String requestHash, LocalDateTime expiresAt, ReservationResponseDTO response) {
+        // An expired row with the same key may still be waiting for the purge.
+        idempotencyKeyRepository.findById(key).ifPresent(idempotencyKeyRepository::delete);
+
+        IdempotencyKey idempotencyKey = new IdempotencyKey();
+        idempotencyKey.setKey(key);
+        idempotencyKey.setRequestHash(requestHash);
+        idempotencyKey.setReservationId(UUID.fromString(response.getId()));
+        idempotencyKey.setResponse(writeResponse(response));
+        idempotencyKey.setCreatedAt(expiresAt.minus(ttl));
+        idempotencyKey.setExpiresAt(expiresAt);
+        idempotencyKeyRepository.saveAndFlush(idempotencyKey);
+    }
+
+    private String writeResponse(ReservationResponseDTO response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize reservation response", e);
+        }
+    }
+
+    private ReservationResponseDTO readResponse(String json) {
+        try {
+            return objectMapper.readValue(json, ReservationResponseDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored reservation response", e);
+        }
+    }
+
+    private static String hash(ReservationRequestDTO dto) {
+        String canonical = dto.getRoomId() + '\n' + dto.getGuestName() + '\n'
+                + dto.getCheckinExpected() + '\n' + dto.getCheckoutExpected();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.InventoryDTO;
+import com.fiap.hotel_reservation_system.dto.RoomInventoryDTO;
+import com.fiap.hotel_reservation_system.exception.BusinessException;
+import com.fiap.hotel_reservation_system.model.Reservation;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import com.fiap.hotel_reservation_system.service.RoomCatalog.CatalogRoom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booked nights of every room as a bitset, one bit per night from the day the calendar was built up to
+ * the publishing horizon (540 nights by default, about 68 longs per room).
+ *
+ * A stay books every night from its check-in through its check-out date, the same closed interval the
+ * booking check ({@link RoomAvailabilityIndex#hasOverlap}) uses, so a room is never shown free on a date
+ * it cannot be booked for.
+ *
+ * Marking and clearing a stay is idempotent and stays of a room never share a night, so the calendar
+ * can be rebuilt from the active reservations at any time: it is built when the application is ready
+ * and rebuilt every night so the horizon keeps rolling forward. An inventory query works on whole
+ * 64-night words, combining the rooms of a type with AND/OR in a single pass.
+ *
+ * In cluster mode no calendar is kept, since it would miss bookings made on other nodes: every query
+ * builds one for just its range from the database.
+ */
+@Service
+public class InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    // Nights past the horizon that are kept too, so queries keep working if the nightly rebuild is late.
+    private static final int SPARE_NIGHTS = 31;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private ClusterRoomLocks clusterRoomLocks;
+
+    @Value("${hotel.inventory.horizon-days:540}")
+    private int horizonDays;
+
+    // Marking takes the read lock (words are updated with CAS); a rebuild takes the write lock so no
+    // update can land on the calendar that is being replaced.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile Calendar calendar;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${hotel.inventory.rebuild-cron:0 0 0 * * *}")
+    public void rebuild() {
+        if (clusterRoomLocks.isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Calendar rebuilt = new Calendar(LocalDate.now(), horizonDays + SPARE_NIGHTS);
+            List<Reservation> active = reservationRepository.findByStatusIn(ReservationStatus.ACTIVE_STATUSES);
+            active.forEach(reservation -> rebuilt.mark(reservation.getRoom().getId(),
+                    reservation.getCheckinExpected(), reservation.getCheckoutExpected(), true));
+            calendar = rebuilt;
+            log.info("Room inventory built from {} active reservations, {} to {}", active.size(),
+                    rebuilt.origin, rebuilt.origin.plusDays(rebuilt.nights - 1L));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(Reservation reservation) {
+        mark(reservation, true);
+    }
+
+    public void remove(Reservation reservation) {
+        mark(reservation, false);
+    }
+
+    private void mark(Reservation reservation, boolean booked) {
+        lock.readLock().lock();
+        try {
+            Calendar current = calendar;
+            if (current != null) {
+                current.mark(reservation.getRoom().getId(), reservation.getCheckinExpected(),
+                        reservation.getCheckoutExpected(), booked);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public InventoryDTO findInventory(LocalDate from, LocalDate to, String type) {
+        LocalDate today = LocalDate.now();
+        if (to.isBefore(from)) {
+            throw new BusinessException("End date must not be before start date");
+        }
+        if (from.isBefore(today) || !to.isBefore(today.plusDays(horizonDays))) {
+            throw new BusinessException("Inventory is only available from today up to " + horizonDays + " days ahead");
+        }
+        Optional<RoomType> roomType = Optional.ofNullable(type).map(name -> RoomType.fromName(name)
+                .orElseThrow(() -> new BusinessException("Invalid room type: " + name)));
+        List<CatalogRoom> rooms = roomCatalog.findAllRooms().stream()
+                .filter(room -> room.status() == RoomStatus.ACTIVE)
+                .filter(room -> roomType.isEmpty() || roomType.get() == room.type())
+                .sorted(Comparator.comparing(CatalogRoom::number))
+                .toList();
+
+        int nights = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        Calendar current = clusterRoomLocks.isEnabled() ? calendarFromDatabase(from, nights) : calendar;
+        if (current == null) {
+            throw new IllegalStateException("Room inventory is not built yet");
+        }
+        int start = (int) ChronoUnit.DAYS.between(current.origin, from);
+        int words = (nights + 63) >>> 6;
+        long tailMask = nights % 64 == 0 ? -1L : (1L << nights) - 1;
+
+        long[] anyFree = new long[words];
+        long[] allFree = new long[words];
+        if (!rooms.isEmpty()) {
+            Arrays.fill(allFree, -1L);
+        }
+        int[] freeRooms = new int[nights];
+        List<RoomInventoryDTO> roomCalendars = new ArrayList<>(rooms.size());
+
+        for (CatalogRoom room : rooms) {
+            long[] free = current.booked(room.id(), start, words);
+            for (int w = 0; w < words; w++) {
+                free[w] = ~free[w];
+            }
+            free[words - 1] &= tailMask;
+            for (int w = 0; w < words; w++) {
+                anyFree[w] |= free[w];
+                allFree[w] &= free[w];
+            }
+            for (int w = 0; w < words; w++) {
+                for (long bits = free[w]; bits != 0; bits &= bits - 1) {
+                    freeRooms[(w << 6) + Long.numberOfTrailingZeros(bits)]++;
+                }
+            }
+            roomCalendars.add(new RoomInventoryDTO(room.id().toString(), room.number(), room.type().name(),
+                    toCalendarString(free, nights)));
+        }
+        allFree[words - 1] &= tailMask;
+
+        return new InventoryDTO(from, to, roomType.map(Enum::name).orElse(null), roomCalendars, freeRooms,
+                toCalendarString(anyFree, nights), toCalendarString(allFree, nights));
+    }
+
+    // In cluster mode the shared calendar misses bookings made on other nodes, so each query builds one
+    // for just its range from the active reservations in the database.
+    private Calendar calendarFromDatabase(LocalDate from, int nights) {
+        Calendar queried = new Calendar(from, nights);
+        reservationRepository.findActiveBetween(from, from.plusDays(nights - 1L))
+                .forEach(reservation -> queried.mark(reservation.getRoom().getId(),
+                        reservation.getCheckinExpected(), reservation.getCheckoutExpected(), true));
+        return queried;
+    }
+
+    private static String toCalendarString(long[] bits, int nights) {
+        char[] chars = new char[nights];
+        for (int night = 0; night < nights; night++) {
+            chars[night] = (bits[night >>> 6] & (1L << night)) != 0 ? '1' : '0';
+        }
+        return new String(chars);
+    }
+
+    private static final class Calendar {
+        private final LocalDate origin;
+        private final int nights;
+        private final int words;
+        private final Map<UUID, AtomicLongArray> bookedByRoom = new ConcurrentHashMap<>();
+
+        private Calendar(LocalDate origin, int nights) {
+            this.origin = origin;
+            this.nights = nights;
+            this.words = (nights + 63) >>> 6;
+        }
+
+        // Nights outside the calendar are ignored: past nights are never queried and nights past the
+        // horizon are picked up by the rebuild that brings them into range.
+        void mark(UUID roomId, LocalDate checkin, LocalDate checkout, boolean booked) {
+            int first = (int) Math.max(0, ChronoUnit.DAYS.between(origin, checkin));
+            int end = (int) Math.min(nights, ChronoUnit.DAYS.between(origin, checkout) + 1);
+            if (first >= end) {
+                return;
+            }
+            AtomicLongArray bits = bookedByRoom.computeIfAbsent(roomId, id -> new AtomicLongArray(words));
+            for (int word = first >>> 6; word <= (end - 1) >>> 6; word++) {
+                int from = Math.max(first, word << 6) & 63;
+                int to = Math.min(end, (word + 1) << 6) - (word << 6);
+                long mask = (to == 64 ? -1L : (1L << to) - 1) & (-1L << from);
+                if (booked) {
+                    bits.getAndUpdate(word, value -> value | mask);
+                } else {
+                    bits.getAndUpdate(word, value -> value & ~mask);
+                }
+            }
+        }
+
+        /**
+         * The booked bits of {@code count} words starting at night {@code start}, realigned so that bit 0
+         * of the first word is night {@code start}.
+         */
+        long[] booked(UUID roomId, int start, int count) {
+            long[] result = new long[count];
+            AtomicLongArray bits = bookedByRoom.get(roomId);
+            if (bits == null) {
+                return result;
+            }
+            int word = start >>> 6;
+            int shift = start & 63;
+            for (int i = 0; i < count; i++) {
+                long low = word + i < words ? bits.get(word + i) : 0;
+                long high = shift == 0 || word + i + 1 >= words ? 0 : bits.get(word + i + 1);
+                result[i] = shift == 0 ? low : (low >>> shift) | (high << (64 - shift));
+            }
+            return result;
+        }
+    }
+}
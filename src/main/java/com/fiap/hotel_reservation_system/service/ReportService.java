@@ -0,0 +1,259 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.OccupancyReportDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationStayDTO;
+import com.fiap.hotel_reservation_system.dto.RevenueReportDTO;
+import com.fiap.hotel_reservation_system.exception.BusinessException;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+import com.fiap.hotel_reservation_system.repository.ArchivedReservationRepository;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import com.fiap.hotel_reservation_system.service.RoomCatalog.CatalogRoom;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Daily occupancy and revenue per room type, kept as running totals per stay date.
+ *
+ * The totals are built once from the reservations and reservations_archive tables on startup (after
+ * the write-behind log has been replayed) and then moved by every reservation change after it commits,
+ * so a report reads one entry per day of the requested range instead of scanning reservations.
+ *
+ * A night is sold from booking until it is canceled (a no-show keeps its nights sold); revenue is the
+ * check-out total spread over the nights of the stay.
+ *
+ * In cluster mode the totals would miss changes made on other nodes, so none are kept and every report
+ * adds up the stays of its range from the database instead.
+ */
+@Service
+@DependsOn("reservationWriteBehind")
+public class ReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ClusterRoomLocks clusterRoomLocks;
+
+    @Value("${hotel.reports.max-days:366}")
+    private int maxDays;
+
+    private final ConcurrentMap<LocalDate, DayTotals> days = new ConcurrentSkipListMap<>();
+
+    @PostConstruct
+    public void load() {
+        days.clear();
+        if (clusterRoomLocks.isEnabled()) {
+            return;
+        }
+        AtomicLong loaded = new AtomicLong();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ReservationStayDTO> stays = reservationRepository.streamAllStays();
+                 Stream<ReservationStayDTO> archived = archivedReservationRepository.streamAllStays()) {
+                Stream.concat(stays, archived).forEach(stay -> {
+                    booked(days, stay);
+                    transitioned(days, stay);
+                    loaded.incrementAndGet();
+                });
+            }
+        });
+        log.info("Occupancy and revenue totals built from {} reservations", loaded.get());
+    }
+
+    /**
+     * Counts the nights of a new reservation as sold.
+     */
+    public void recordBooked(ReservationStayDTO stay) {
+        if (!clusterRoomLocks.isEnabled()) {
+            booked(days, stay);
+        }
+    }
+
+    /**
+     * Applies the reservation's current status: a cancellation gives its nights back and a check-out
+     * books its revenue. Other statuses do not change the totals.
+     */
+    public void recordTransition(ReservationStayDTO stay) {
+        if (!clusterRoomLocks.isEnabled()) {
+            transitioned(days, stay);
+        }
+    }
+
+    private static void booked(Map<LocalDate, DayTotals> days, ReservationStayDTO stay) {
+        forEachNight(days, stay, (totals, night) -> totals.nightsSold[stay.getRoomType().ordinal()].increment());
+    }
+
+    private static void transitioned(Map<LocalDate, DayTotals> days, ReservationStayDTO stay) {
+        int type = stay.getRoomType().ordinal();
+        if (stay.getStatus() == ReservationStatus.CANCELED) {
+            forEachNight(days, stay, (totals, night) -> {
+                totals.nightsSold[type].decrement();
+                totals.canceledNights[type].increment();
+            });
+        } else if (stay.getStatus() == ReservationStatus.CHECKED_OUT && stay.getTotalAmount() != null) {
+            BigDecimal[] revenueByNight = spread(stay.getTotalAmount(), nights(stay));
+            forEachNight(days, stay, (totals, night) -> {
+                totals.nightsCheckedOut[type].increment();
+                totals.revenue.accumulateAndGet(type, revenueByNight[night], BigDecimal::add);
+            });
+        }
+    }
+
+    public List<OccupancyReportDTO> occupancy(LocalDate from, LocalDate to, String type) {
+        List<RoomType> types = resolveTypes(from, to, type);
+        Map<LocalDate, DayTotals> totalsByDate = totals(from, to);
+        Map<RoomType, Long> rooms = roomCatalog.findAllRooms().stream()
+                .filter(room -> room.status() == RoomStatus.ACTIVE)
+                .collect(Collectors.groupingBy(CatalogRoom::type, () -> new EnumMap<>(RoomType.class),
+                        Collectors.counting()));
+
+        List<OccupancyReportDTO> report = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DayTotals totals = totalsByDate.get(date);
+            for (RoomType roomType : types) {
+                long roomCount = rooms.getOrDefault(roomType, 0L);
+                long nightsSold = totals == null ? 0 : totals.nightsSold[roomType.ordinal()].sum();
+                BigDecimal rate = roomCount == 0 ? BigDecimal.ZERO.setScale(2)
+                        : BigDecimal.valueOf(nightsSold).multiply(HUNDRED)
+                                .divide(BigDecimal.valueOf(roomCount), 2, RoundingMode.HALF_UP);
+                report.add(new OccupancyReportDTO(date, roomType.name(), roomCount, nightsSold, rate));
+            }
+        }
+        return report;
+    }
+
+    public List<RevenueReportDTO> revenue(LocalDate from, LocalDate to, String type) {
+        List<RoomType> types = resolveTypes(from, to, type);
+        Map<LocalDate, DayTotals> totalsByDate = totals(from, to);
+
+        List<RevenueReportDTO> report = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            DayTotals totals = totalsByDate.get(date);
+            for (RoomType roomType : types) {
+                int index = roomType.ordinal();
+                report.add(totals == null
+                        ? new RevenueReportDTO(date, roomType.name(), 0, BigDecimal.ZERO, 0)
+                        : new RevenueReportDTO(date, roomType.name(), totals.nightsCheckedOut[index].sum(),
+                                totals.revenue.get(index), totals.canceledNights[index].sum()));
+            }
+        }
+        return report;
+    }
+
+    private Map<LocalDate, DayTotals> totals(LocalDate from, LocalDate to) {
+        if (!clusterRoomLocks.isEnabled()) {
+            return days;
+        }
+        Map<LocalDate, DayTotals> totals = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ReservationStayDTO> stays = reservationRepository.streamStaysBetween(from, to);
+                 Stream<ReservationStayDTO> archived = archivedReservationRepository.streamStaysBetween(from, to)) {
+                Stream.concat(stays, archived).forEach(stay -> {
+                    booked(totals, stay);
+                    transitioned(totals, stay);
+                });
+            }
+        });
+        return totals;
+    }
+
+    private List<RoomType> resolveTypes(LocalDate from, LocalDate to, String type) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            throw new BusinessException("Report range cannot be longer than " + maxDays + " days");
+        }
+        if (type == null) {
+            return List.of(ROOM_TYPES);
+        }
+        return RoomType.fromName(type).map(List::of)
+                .orElseThrow(() -> new BusinessException("Invalid room type: " + type));
+    }
+
+    private static void forEachNight(Map<LocalDate, DayTotals> days, ReservationStayDTO stay, NightAction action) {
+        int nights = nights(stay);
+        for (int night = 0; night < nights; night++) {
+            LocalDate date = stay.getCheckinExpected().plusDays(night);
+            action.apply(days.computeIfAbsent(date, d -> new DayTotals()), night);
+        }
+    }
+
+    private static int nights(ReservationStayDTO stay) {
+        return (int) ChronoUnit.DAYS.between(stay.getCheckinExpected(), stay.getCheckoutExpected());
+    }
+
+    // Splits the total into equal nightly shares; the rounding remainder goes to the first night so
+    // the shares always add up to the total.
+    static BigDecimal[] spread(BigDecimal total, int nights) {
+        BigDecimal[] shares = new BigDecimal[nights];
+        BigDecimal share = total.divide(BigDecimal.valueOf(nights), total.scale(), RoundingMode.DOWN);
+        Arrays.fill(shares, share);
+        shares[0] = total.subtract(share.multiply(BigDecimal.valueOf(nights - 1L)));
+        return shares;
+    }
+
+    @FunctionalInterface
+    private interface NightAction {
+        void apply(DayTotals totals, int night);
+    }
+
+    private static final class DayTotals {
+        final LongAdder[] nightsSold = adders();
+        final LongAdder[] nightsCheckedOut = adders();
+        final LongAdder[] canceledNights = adders();
+        final AtomicReferenceArray<BigDecimal> revenue = new AtomicReferenceArray<>(zeros());
+
+        private static LongAdder[] adders() {
+            LongAdder[] adders = new LongAdder[ROOM_TYPES.length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+
+        private static BigDecimal[] zeros() {
+            BigDecimal[] zeros = new BigDecimal[ROOM_TYPES.length];
+            Arrays.fill(zeros, BigDecimal.ZERO);
+            return zeros;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of {@link ReservationTransition}s in numbered segment files.
+ *
+ * Appends are group-committed: a single writer thread takes every append queued while the previous
+ * fsync was running, writes them with one {@code write} and makes them durable with one
+ * {@code force}. Each record is {@code [length][crc32c][payload]}, so a write torn by a crash is
+ * detected and cut off when the log is reopened. The checkpoint file holds the sequence of the last
+ * transition applied to the database; segments entirely below it are deleted.
+ */
+public class ReservationEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationEventLog.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final int HEADER_BYTES = 8;
+
+    public record Entry(long sequence, ReservationTransition transition) {
+    }
+
+    private record PendingAppend(ReservationTransition transition, CompletableFuture<Long> durable) {
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxBatch;
+    private final Consumer<List<Entry>> onDurable;
+
+    private final BlockingQueue<PendingAppend> appends = new LinkedBlockingQueue<>();
+    // First sequence of each segment -> file, guarded by itself (rolled by the writer, pruned by markApplied).
+    private final NavigableMap<Long, Path> segments = new TreeMap<>();
+
+    private FileChannel channel;
+    private long nextSequence = 1;
+    private long appliedSequence;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile IOException failure;
+
+    /**
+     * @param onDurable called on the writer thread, in sequence order, once a batch is on disk and
+     *                  before its appenders are released
+     */
+    public ReservationEventLog(Path directory, long segmentBytes, int maxBatch, Consumer<List<Entry>> onDurable) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBatch = maxBatch;
+        this.onDurable = onDurable;
+    }
+
+    /**
+     * Recovers the log and returns the durable transitions that were not applied yet, in order.
+     */
+    public List<Entry> open() throws IOException {
+        Files.createDirectories(directory);
+        Path checkpoint = directory.resolve(CHECKPOINT);
+        if (Files.exists(checkpoint)) {
+            appliedSequence = Long.parseLong(Files.readString(checkpoint, StandardCharsets.US_ASCII).trim());
+        }
+        nextSequence = appliedSequence + 1;
+
+        try (var files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .forEach(file -> segments.put(firstSequenceOf(file), file));
+        }
+
+        List<Entry> unapplied = new ArrayList<>();
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            boolean last = segment.getKey().equals(segments.lastKey());
+            for (Entry entry : readSegment(segment.getValue(), last)) {
+                nextSequence = Math.max(nextSequence, entry.sequence() + 1);
+                if (entry.sequence() > appliedSequence) {
+                    unapplied.add(entry);
+                }
+            }
+        }
+
+        Path active = segments.isEmpty() ? newSegment(nextSequence) : segments.lastEntry().getValue();
+        channel = FileChannel.open(active, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        return unapplied;
+    }
+
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("reservation-event-log").daemon().start(this::writeLoop);
+    }
+
+    /**
+     * Blocks until the transition is durable and returns its sequence.
+     */
+    public long append(ReservationTransition transition) {
+        if (!running) {
+            throw new IllegalStateException("Reservation event log is not running");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Reservation event log failed", failure);
+        }
+        PendingAppend append = new PendingAppend(transition, new CompletableFuture<>());
+        appends.add(append);
+        try {
+            return append.durable().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException("Could not append to the reservation event log", io);
+            }
+            throw e;
+        }
+    }
+
+    public void markApplied(long sequence) throws IOException {
+        if (sequence <= appliedSequence) {
+            return;
+        }
+        // Not forced: replaying an already applied transition is a no-op, so a lost checkpoint only
+        // means a little more work on the next start.
+        Path temp = directory.resolve(CHECKPOINT + ".tmp");
+        Files.writeString(temp, Long.toString(sequence), StandardCharsets.US_ASCII);
+        Files.move(temp, directory.resolve(CHECKPOINT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        appliedSequence = sequence;
+
+        synchronized (segments) {
+            // A segment can go once the next one starts at or below the first unapplied sequence.
+            while (segments.size() > 1) {
+                Map.Entry<Long, Path> oldest = segments.firstEntry();
+                Long next = segments.higherKey(oldest.getKey());
+                if (next > sequence + 1) {
+                    break;
+                }
+                Files.deleteIfExists(oldest.getValue());
+                segments.remove(oldest.getKey());
+            }
+        }
+    }
+
+    public long getAppliedSequence() { return appliedSequence; }
+
+    public int getSegmentCount() {
+        synchronized (segments) {
+            return segments.size();
+        }
+    }
+
+    /**
+     * Stops accepting appends, waits for the queued ones to be durable and closes the active segment.
+     */
+    public void close() throws IOException {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>(maxBatch);
+        while (running || !appends.isEmpty()) {
+            try {
+                PendingAppend first = appends.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                appends.drainTo(batch, maxBatch - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingAppend> batch) {
+        if (failure != null) {
+            batch.forEach(append -> append.durable().completeExceptionally(failure));
+            return;
+        }
+        try {
+            if (channel.size() >= segmentBytes) {
+                roll();
+            }
+            List<Entry> entries = new ArrayList<>(batch.size());
+            List<ByteBuffer> records = new ArrayList<>(batch.size());
+            for (PendingAppend append : batch) {
+                Entry entry = new Entry(nextSequence++, append.transition());
+                entries.add(entry);
+                records.add(encode(entry));
+            }
+            ByteBuffer[] buffers = records.toArray(ByteBuffer[]::new);
+            while (Arrays.stream(buffers).anyMatch(ByteBuffer::hasRemaining)) {
+                channel.write(buffers);
+            }
+            channel.force(false);
+
+            onDurable.accept(entries);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).durable().complete(entries.get(i).sequence());
+            }
+        } catch (IOException e) {
+            // Whatever follows a partial write would be cut off on recovery, so the log stops here.
+            failure = e;
+            log.error("Reservation event log failed, rejecting further appends", e);
+            batch.forEach(append -> append.durable().completeExceptionally(e));
+        } catch (RuntimeException e) {
+            batch.forEach(append -> append.durable().completeExceptionally(e));
+        }
+    }
+
+    private void roll() throws IOException {
+        channel.force(false);
+        channel.close();
+        channel = FileChannel.open(newSegment(nextSequence), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path newSegment(long firstSequence) throws IOException {
+        Path segment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        Files.createFile(segment);
+        synchronized (segments) {
+            segments.put(firstSequence, segment);
+        }
+        return segment;
+    }
+
+    private List<Entry> readSegment(Path segment, boolean last) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(segment));
+        while (content.hasRemaining()) {
+            int start = content.position();
+            Entry entry = decode(content);
+            if (entry == null) {
+                if (!last) {
+                    throw new IOException("Corrupted record in reservation event log segment " + segment);
+                }
+                log.warn("Truncating torn record at offset {} of {}", start, segment);
+                try (FileChannel file = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    file.truncate(start);
+                    file.force(true);
+                }
+                break;
+            }
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    static ByteBuffer encode(Entry entry) {
+        ReservationTransition transition = entry.transition();
+        byte[] amount = transition.totalAmount() == null
+                ? new byte[0]
+                : transition.totalAmount().unscaledValue().toByteArray();
+        int payloadBytes = 8 + 16 + 2 + 2 + 8 + 4 + 4 + 2 + amount.length;
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payloadBytes);
+        record.position(HEADER_BYTES);
+        record.putLong(entry.sequence());
+        record.putLong(transition.reservationId().getMostSignificantBits());
+        record.putLong(transition.reservationId().getLeastSignificantBits());
+        record.putShort(transition.from().getCode());
+        record.putShort(transition.to().getCode());
+        record.putLong(transition.updatedAt().toEpochSecond(ZoneOffset.UTC));
+        record.putInt(transition.updatedAt().getNano());
+        record.putInt(transition.totalAmount() == null ? -1 : transition.totalAmount().scale());
+        record.putShort((short) amount.length);
+        record.put(amount);
+
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), HEADER_BYTES, payloadBytes);
+        record.putInt(0, payloadBytes);
+        record.putInt(4, (int) crc.getValue());
+        return record.flip();
+    }
+
+    /**
+     * Returns {@code null} (leaving the position unspecified) when the remaining bytes do not hold a
+     * complete, intact record.
+     */
+    static Entry decode(ByteBuffer content) {
+        if (content.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int payloadBytes = content.getInt();
+        int checksum = content.getInt();
+        if (payloadBytes <= 0 || payloadBytes > content.remaining()) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(content.array(), content.arrayOffset() + content.position(), payloadBytes);
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        long sequence = content.getLong();
+        UUID reservationId = new UUID(content.getLong(), content.getLong());
+        ReservationStatus from = statusOf(content.getShort());
+        ReservationStatus to = statusOf(content.getShort());
+        LocalDateTime updatedAt = LocalDateTime.ofEpochSecond(content.getLong(), content.getInt(), ZoneOffset.UTC);
+        int scale = content.getInt();
+        byte[] amount = new byte[content.getShort()];
+        content.get(amount);
+        BigDecimal totalAmount = scale < 0 ? null : new BigDecimal(new BigInteger(amount), scale);
+        return new Entry(sequence, new ReservationTransition(reservationId, from, to, totalAmount, updatedAt));
+    }
+
+    private static ReservationStatus statusOf(short code) {
+        for (ReservationStatus status : ReservationStatus.values()) {
+            if (status.getCode() == code) {
+                return status;
+            }
+        }
+        throw new IllegalStateException("Unknown reservation status code " + code);
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.fiap.hotel_reservation_system.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Striped locks keyed by reservation id that serialize the write-behind transitions of one reservation
+ * (and the sweeper's no-show check against them). They are separate from the {@link RoomLockManager}
+ * stripes, so transitions and sweeps never hold up bookings.
+ */
+@Component
+public class ReservationLockManager extends StripedLocks {
+
+    public ReservationLockManager(@Value("${hotel.booking.reservation-lock-stripes:1024}") int stripeCount) {
+        super(stripeCount);
+    }
+}
@@ -1,116 +1,642 @@
 package com.fiap.hotel_reservation_system.service;
 
+import com.fiap.hotel_reservation_system.dto.ReservationBatchItemResultDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationBatchResponseDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationPageDTO;
 import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
 import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
-import com.fiap.hotel_reservation_system.dto.RoomResponseDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationStayDTO;
 import com.fiap.hotel_reservation_system.exception.BusinessException;
 import com.fiap.hotel_reservation_system.exception.ConflictException;
 import com.fiap.hotel_reservation_system.exception.ResourceNotFoundException;
 import com.fiap.hotel_reservation_system.model.Reservation;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
 import com.fiap.hotel_reservation_system.model.Room;
+import com.fiap.hotel_reservation_system.repository.ArchivedReservationRepository;
 import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.stereotype.Service;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ReservationService {
 
+    private static final String STAY_EXCLUSION_CONSTRAINT = "ex_reservations_room_stay";
+
+    // Keyset order of the history queries. UUIDs compare as unsigned bytes in the database, unlike
+    // UUID.compareTo, so both halves are compared unsigned here.
+    private static final Comparator<ReservationResponseDTO> HISTORY_ORDER =
+            Comparator.comparing(ReservationResponseDTO::getCreatedAt)
+                    .thenComparing(reservation -> UUID.fromString(reservation.getId()), (a, b) -> {
+                        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+                        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+                    });
+
     @Autowired
     private ReservationRepository reservationRepository;
 
+    @Autowired
+    private ArchivedReservationRepository archivedReservationRepository;
+
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private RoomLockManager roomLockManager;
+
+    @Autowired
+    private ReservationLockManager reservationLockManager;
+
+    @Autowired
+    private ReservationWriteBehind writeBehind;
+
+    @Autowired
+    private ClusterRoomLocks clusterRoomLocks;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${hotel.availability.index.verify-with-database:false}")
+    private boolean verifyWithDatabase;
+
+    @Value("${hotel.availability.database-constraint:false}")
+    private boolean databaseConstraint;
+
+    @Value("${hotel.booking.transition.locking:optimistic}")
+    private String transitionLocking;
+
+    @Value("${hotel.booking.transition.max-attempts:3}")
+    private int maxTransitionAttempts;
+
+    @Value("${hotel.booking.batch.max-size:500}")
+    private int maxBatchSize;
+
+    @Value("${hotel.pagination.default-limit:50}")
+    private int defaultPageLimit;
+
+    @Value("${hotel.pagination.max-limit:500}")
+    private int maxPageLimit;
+
+    /*
+     * Reservation history spans two tables: the sweeper moves finished stays from reservations to
+     * reservations_archive, so every read below looks in both. The hot table is always read first; a
+     * reservation archived between the two reads then shows up twice and the copy is dropped, where the
+     * opposite order could miss it.
+     *
+     * Write-behind mode acknowledges a transition before it is stored, so the reads also overlay the
+     * transitions still pending in the log on the rows they return. The pending transitions are looked
+     * up before the rows are read: one leaves the log only once it has been committed, so it is always
+     * either in the row or in the overlay.
+     */
+
     public List<ReservationResponseDTO> findAll() {
-        return reservationRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        Map<UUID, List<ReservationTransition>> pending = writeBehind.findAllPending();
+        return withPending(union(reservationRepository.findAllProjected(),
+                archivedReservationRepository.findAllProjected()), pending, Optional.empty());
     }
 
     public List<ReservationResponseDTO> findByStatus(String status) {
-        return reservationRepository.findByStatus(status).stream()
-                .map(this::toDTO)
+        Map<UUID, List<ReservationTransition>> pending = writeBehind.findAllPending();
+        return ReservationStatus.fromName(status)
+                .map(reservationStatus -> withPending(ReservationStatus.FINAL_STATUSES.contains(reservationStatus)
+                        ? union(reservationRepository.findProjectedByStatus(reservationStatus),
+                                archivedReservationRepository.findProjectedByStatus(reservationStatus))
+                        : reservationRepository.findProjectedByStatus(reservationStatus),
+                        pending, Optional.of(reservationStatus)))
+                .orElse(List.of());
+    }
+
+    /**
+     * Overlays the pending transitions on the reservations and drops those that no longer match the
+     * status filter. A reservation moving into the filtered status is listed once its transition is stored.
+     */
+    private static List<ReservationResponseDTO> withPending(List<ReservationResponseDTO> reservations,
+                                                            Map<UUID, List<ReservationTransition>> pending,
+                                                            Optional<ReservationStatus> statusFilter) {
+        if (pending.isEmpty()) {
+            return reservations;
+        }
+        return reservations.stream()
+                .filter(reservation -> overlayPending(reservation,
+                        pending.getOrDefault(UUID.fromString(reservation.getId()), List.of()), statusFilter))
                 .collect(Collectors.toList());
     }
 
+    // Returns whether the reservation still matches the status filter once the overlay is applied.
+    private static boolean overlayPending(ReservationResponseDTO reservation, List<ReservationTransition> pending,
+                                          Optional<ReservationStatus> statusFilter) {
+        List<ReservationTransition> notStored =
+                ReservationTransition.notStoredIn(pending, ReservationStatus.valueOf(reservation.getStatus()));
+        if (!notStored.isEmpty()) {
+            notStored.get(notStored.size() - 1).applyTo(reservation);
+        }
+        return statusFilter.isEmpty() || statusFilter.get().name().equals(reservation.getStatus());
+    }
+
+    private static List<ReservationResponseDTO> union(List<ReservationResponseDTO> hot,
+                                                      List<ReservationResponseDTO> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Set<String> hotIds = new HashSet<>();
+        hot.forEach(reservation -> hotIds.add(reservation.getId()));
+        List<ReservationResponseDTO> all = new ArrayList<>(hot.size() + archived.size());
+        all.addAll(hot);
+        archived.stream().filter(reservation -> !hotIds.contains(reservation.getId())).forEach(all::add);
+        return all;
+    }
+
+    public ReservationPageDTO findPage(String status, String cursor, Integer limit) {
+        int pageSize = resolvePageLimit(limit);
+        Map<UUID, List<ReservationTransition>> pending = writeBehind.findAllPending();
+        // One extra row tells whether there is a next page without a separate count query.
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        Optional<ReservationStatus> statusFilter = Optional.ofNullable(status).flatMap(ReservationStatus::fromName);
+        if (status != null && statusFilter.isEmpty()) {
+            return new ReservationPageDTO(List.of(), null);
+        }
+
+        // Only finished reservations are ever archived, so active statuses only need the hot table.
+        boolean archiveToo = statusFilter.isEmpty() || ReservationStatus.FINAL_STATUSES.contains(statusFilter.get());
+        List<ReservationResponseDTO> reservations;
+        if (cursor == null || cursor.isBlank()) {
+            reservations = statusFilter.isEmpty()
+                    ? reservationRepository.findFirstPage(fetchLimit)
+                    : reservationRepository.findFirstPageByStatus(statusFilter.get(), fetchLimit);
+            if (archiveToo) {
+                reservations = mergePage(reservations, statusFilter.isEmpty()
+                        ? archivedReservationRepository.findFirstPage(fetchLimit)
+                        : archivedReservationRepository.findFirstPageByStatus(statusFilter.get(), fetchLimit), pageSize + 1);
+            }
+        } else {
+            ReservationCursor after = ReservationCursor.decode(cursor);
+            reservations = statusFilter.isEmpty()
+                    ? reservationRepository.findPageAfter(after.getCreatedAt(), after.getId(), fetchLimit)
+                    : reservationRepository.findPageByStatusAfter(statusFilter.get(), after.getCreatedAt(), after.getId(), fetchLimit);
+            if (archiveToo) {
+                reservations = mergePage(reservations, statusFilter.isEmpty()
+                        ? archivedReservationRepository.findPageAfter(after.getCreatedAt(), after.getId(), fetchLimit)
+                        : archivedReservationRepository.findPageByStatusAfter(statusFilter.get(), after.getCreatedAt(), after.getId(), fetchLimit),
+                        pageSize + 1);
+            }
+        }
+
+        String nextCursor = null;
+        if (reservations.size() > pageSize) {
+            reservations = reservations.subList(0, pageSize);
+            ReservationResponseDTO last = reservations.get(pageSize - 1);
+            nextCursor = new ReservationCursor(last.getCreatedAt(), UUID.fromString(last.getId())).encode();
+        }
+        // The cursor comes from the rows as stored, so dropping an item here never skips the rows after it.
+        return new ReservationPageDTO(withPending(reservations, pending, statusFilter), nextCursor);
+    }
+
+    private static List<ReservationResponseDTO> mergePage(List<ReservationResponseDTO> hot,
+                                                          List<ReservationResponseDTO> archived, int limit) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<ReservationResponseDTO> page = new ArrayList<>(limit);
+        merge(hot.iterator(), archived.iterator()).forEachRemaining(reservation -> {
+            if (page.size() < limit) {
+                page.add(reservation);
+            }
+        });
+        return page;
+    }
+
+    /**
+     * Merges two iterators that are both in {@link #HISTORY_ORDER} into one, dropping a reservation that
+     * comes from both.
+     */
+    private static Iterator<ReservationResponseDTO> merge(Iterator<ReservationResponseDTO> first,
+                                                          Iterator<ReservationResponseDTO> second) {
+        return new Iterator<>() {
+            private ReservationResponseDTO nextFirst = first.hasNext() ? first.next() : null;
+            private ReservationResponseDTO nextSecond = second.hasNext() ? second.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextFirst != null || nextSecond != null;
+            }
+
+            @Override
+            public ReservationResponseDTO next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int order = nextFirst == null ? 1 : nextSecond == null ? -1 : HISTORY_ORDER.compare(nextFirst, nextSecond);
+                ReservationResponseDTO result = order <= 0 ? nextFirst : nextSecond;
+                if (order <= 0) {
+                    nextFirst = first.hasNext() ? first.next() : null;
+                }
+                if (order >= 0) {
+                    nextSecond = second.hasNext() ? second.next() : null;
+                }
+                return result;
+            }
+        };
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTo(String status, OutputStream out) throws IOException {
+        Optional<ReservationStatus> statusFilter = Optional.ofNullable(status).flatMap(ReservationStatus::fromName);
+        if (status != null && statusFilter.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<ReservationTransition>> pending = writeBehind.findAllPending();
+        try (Stream<ReservationResponseDTO> reservations = reservationRepository.streamAll(statusFilter.orElse(null));
+             Stream<ReservationResponseDTO> archived = statusFilter.isEmpty() || ReservationStatus.FINAL_STATUSES.contains(statusFilter.get())
+                     ? archivedReservationRepository.streamAll(statusFilter.orElse(null))
+                     : Stream.empty();
+             SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            boolean written = false;
+            Iterator<ReservationResponseDTO> merged = merge(reservations.iterator(), archived.iterator());
+            for (ReservationResponseDTO reservation : (Iterable<ReservationResponseDTO>) () -> merged) {
+                if (pending.isEmpty() || overlayPending(reservation,
+                        pending.getOrDefault(UUID.fromString(reservation.getId()), List.of()), statusFilter)) {
+                    writer.write(reservation);
+                    written = true;
+                }
+            }
+            writer.flush();
+            if (written) {
+                out.write('\n');
+            }
+        }
+    }
+
+    private int resolvePageLimit(Integer limit) {
+        if (limit == null) {
+            return defaultPageLimit;
+        }
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new BusinessException("Limit must be between 1 and " + maxPageLimit);
+        }
+        return limit;
+    }
+
     public ReservationResponseDTO findById(String id) {
-        Reservation reservation = reservationRepository.findById(id)
+        return EntityIds.parse(id).flatMap(reservationId -> {
+                    // Only finished reservations are archived, and no transition leaves a final status.
+                    List<ReservationTransition> pending = writeBehind.findAllPending(reservationId);
+                    return reservationRepository.findProjectedById(reservationId)
+                            .map(reservation -> {
+                                overlayPending(reservation, pending, Optional.empty());
+                                return reservation;
+                            })
+                            .or(() -> archivedReservationRepository.findProjectedById(reservationId));
+                })
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
-        return toDTO(reservation);
     }
 
-    @Transactional
+    /**
+     * Version tag of the reservation as returned by {@link #findById}, read without loading the reservation.
+     * Each transition still pending in the write-behind log counts as the version bump storing it will make.
+     */
+    public Optional<String> findVersionTag(String id) {
+        return EntityIds.parse(id).flatMap(reservationId -> {
+            List<ReservationTransition> pending = writeBehind.findAllPending(reservationId);
+            if (!pending.isEmpty()) {
+                // Status and versions come from one read, so they agree on which transitions are stored.
+                return reservationRepository.findVersionById(reservationId).map(stored ->
+                        stored.versionTag(ReservationTransition.notStoredIn(pending, stored.getStatus()).size()));
+            }
+            return reservationRepository.findVersionTagById(reservationId)
+                    .or(() -> archivedReservationRepository.findVersionTagById(reservationId));
+        });
+    }
+
+    @Timed(value = "hotel.reservations.operation", extraTags = {"operation", "create"}, histogram = true)
     public ReservationResponseDTO create(ReservationRequestDTO dto) {
+        return create(dto, created -> { });
+    }
+
+    /**
+     * Creates the reservation and runs {@code inTransaction} with the result before the transaction
+     * commits, so whatever it writes is stored together with the reservation or not at all.
+     */
+    @Timed(value = "hotel.reservations.operation", extraTags = {"operation", "create"}, histogram = true)
+    public ReservationResponseDTO create(ReservationRequestDTO dto, Consumer<ReservationResponseDTO> inTransaction) {
         validateDates(dto.getCheckinExpected(), dto.getCheckoutExpected());
+        UUID roomId = EntityIds.parse(dto.getRoomId())
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + dto.getRoomId()));
+
+        // The room lock is held until the transaction has committed, so a concurrent booking of the
+        // same room only runs its availability check once this reservation is visible.
+        return roomLockManager.withLock(roomId, () -> transactionTemplate.execute(status -> {
+            ReservationResponseDTO created = createInTransaction(roomId, dto);
+            inTransaction.accept(created);
+            return created;
+        }));
+    }
 
-        Room room = roomService.findRoomEntityById(dto.getRoomId());
+    private ReservationResponseDTO createInTransaction(UUID roomId, ReservationRequestDTO dto) {
+        Room room = roomService.findRoomEntityById(roomId);
+        clusterRoomLocks.lock(List.of(roomId));
 
-        checkRoomAvailability(room, dto.getCheckinExpected(), dto.getCheckoutExpected());
+        if (!databaseConstraint) {
+            checkRoomAvailability(room, dto.getCheckinExpected(), dto.getCheckoutExpected());
+        }
 
         Reservation reservation = new Reservation();
         reservation.setRoom(room);
         reservation.setGuestName(dto.getGuestName());
         reservation.setCheckinExpected(dto.getCheckinExpected());
         reservation.setCheckoutExpected(dto.getCheckoutExpected());
-        reservation.setStatus("CREATED");
-
-        Reservation savedReservation = reservationRepository.save(reservation);
+        reservation.setStatus(ReservationStatus.CREATED);
+
+        Reservation savedReservation = databaseConstraint
+                ? insertGuardedByConstraint(reservation)
+                : reservationRepository.save(reservation);
+        ReservationStayDTO stay = ReservationStayDTO.of(savedReservation);
+        afterCommit(() -> {
+            availabilityIndex.add(savedReservation);
+            inventoryService.add(savedReservation);
+            reportService.recordBooked(stay);
+        });
         return toDTO(savedReservation);
     }
 
-    @Transactional
-    public ReservationResponseDTO checkIn(String id) {
-        Reservation reservation = reservationRepository.findByIdAndCreatedStatus(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Reservation not found or not in CREATED status: " + id));
+    @Timed(value = "hotel.reservations.operation", extraTags = {"operation", "createAll"}, histogram = true)
+    public ReservationBatchResponseDTO createAll(List<ReservationRequestDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new BusinessException("Batch must contain at least one reservation");
+        }
+        if (dtos.size() > maxBatchSize) {
+            throw new BusinessException("Batch cannot contain more than " + maxBatchSize + " reservations");
+        }
 
-        if (reservation.getCheckinExpected().isAfter(LocalDate.now().plusDays(1))) {
-            throw new BusinessException("Check-in is only allowed from 1 day before the expected date");
+        ReservationBatchItemResultDTO[] results = new ReservationBatchItemResultDTO[dtos.size()];
+        UUID[] itemRoomIds = new UUID[dtos.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Set<UUID> roomIds = new LinkedHashSet<>();
+
+        for (int i = 0; i < dtos.size(); i++) {
+            ReservationRequestDTO dto = dtos.get(i);
+            Set<ConstraintViolation<ReservationRequestDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results[i] = new ReservationBatchItemResultDTO(i, "INVALID", message, null);
+                continue;
+            }
+            try {
+                validateDates(dto.getCheckinExpected(), dto.getCheckoutExpected());
+            } catch (BusinessException e) {
+                results[i] = new ReservationBatchItemResultDTO(i, "INVALID", e.getMessage(), null);
+                continue;
+            }
+            Optional<UUID> roomId = EntityIds.parse(dto.getRoomId());
+            if (roomId.isEmpty()) {
+                results[i] = new ReservationBatchItemResultDTO(i, "NOT_FOUND",
+                        "Room not found with id: " + dto.getRoomId(), null);
+                continue;
+            }
+            itemRoomIds[i] = roomId.get();
+            candidates.add(i);
+            roomIds.add(roomId.get());
         }
 
-        reservation.setStatus("CHECKED_IN");
-        Reservation updatedReservation = reservationRepository.save(reservation);
-        return toDTO(updatedReservation);
+        if (!candidates.isEmpty()) {
+            roomLockManager.withLocks(roomIds, () -> transactionTemplate.execute(
+                    status -> createAllInTransaction(dtos, itemRoomIds, candidates, roomIds, results)));
+        }
+
+        ReservationBatchResponseDTO response = new ReservationBatchResponseDTO();
+        response.setResults(Arrays.asList(results));
+        response.setCreated((int) response.getResults().stream()
+                .filter(result -> "CREATED".equals(result.getResult()))
+                .count());
+        response.setRejected(dtos.size() - response.getCreated());
+        return response;
     }
 
-    @Transactional
-    public ReservationResponseDTO checkOut(String id) {
-        Reservation reservation = reservationRepository.findByIdAndCheckedInStatus(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Reservation not found or not in CHECKED_IN status: " + id));
+    private Void createAllInTransaction(List<ReservationRequestDTO> dtos, UUID[] itemRoomIds, List<Integer> candidates,
+                                        Set<UUID> roomIds, ReservationBatchItemResultDTO[] results) {
+        // One query for the rooms and one for their active stays; every item is then checked in
+        // memory against that snapshot plus the items already accepted in this batch.
+        Map<UUID, Room> rooms = roomService.findRoomEntitiesByIds(roomIds);
+        clusterRoomLocks.lock(rooms.keySet());
+        Map<UUID, NavigableMap<LocalDate, LocalDate>> staysByRoom = new HashMap<>();
+        reservationRepository.findActiveByRoomIds(rooms.keySet()).forEach(reservation ->
+                staysByRoom.computeIfAbsent(reservation.getRoom().getId(), roomId -> new TreeMap<>())
+                        .put(reservation.getCheckinExpected(), reservation.getCheckoutExpected()));
+
+        List<Reservation> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (Integer i : candidates) {
+            ReservationRequestDTO dto = dtos.get(i);
+            Room room = rooms.get(itemRoomIds[i]);
+            if (room == null) {
+                results[i] = new ReservationBatchItemResultDTO(i, "NOT_FOUND",
+                        "Room not found with id: " + dto.getRoomId(), null);
+                continue;
+            }
+
+            NavigableMap<LocalDate, LocalDate> stays = staysByRoom.computeIfAbsent(room.getId(), roomId -> new TreeMap<>());
+            Map.Entry<LocalDate, LocalDate> previous = stays.floorEntry(dto.getCheckoutExpected());
+            if (previous != null && !previous.getValue().isBefore(dto.getCheckinExpected())) {
+                results[i] = new ReservationBatchItemResultDTO(i, "CONFLICT",
+                        "Room not available for the selected dates", null);
+                continue;
+            }
+            stays.put(dto.getCheckinExpected(), dto.getCheckoutExpected());
+
+            Reservation reservation = new Reservation();
+            reservation.setRoom(room);
+            reservation.setGuestName(dto.getGuestName());
+            reservation.setCheckinExpected(dto.getCheckinExpected());
+            reservation.setCheckoutExpected(dto.getCheckoutExpected());
+            reservation.setStatus(ReservationStatus.CREATED);
+            accepted.add(reservation);
+            acceptedIndexes.add(i);
+        }
+
+        List<Reservation> saved = reservationRepository.saveAll(accepted);
+        for (int j = 0; j < saved.size(); j++) {
+            int i = acceptedIndexes.get(j);
+            results[i] = new ReservationBatchItemResultDTO(i, "CREATED", null, toDTO(saved.get(j)));
+        }
+        afterCommit(() -> saved.forEach(reservation -> {
+            availabilityIndex.add(reservation);
+            inventoryService.add(reservation);
+            reportService.recordBooked(ReservationStayDTO.of(reservation));
+        }));
+        return null;
+    }
 
-        long nights = ChronoUnit.DAYS.between(
-                reservation.getCheckinExpected(),
-                reservation.getCheckoutExpected()
-        );
-        BigDecimal totalAmount = reservation.getRoom().getPricePerNight().multiply(BigDecimal.valueOf(nights));
+    @Timed(value = "hotel.reservations.operation", extraTags = {"operation", "checkIn"}, histogram = true)
+    public ReservationResponseDTO checkIn(String id) {
+        return transition(id, ReservationStatus.CREATED, reservation -> {
+            if (reservation.getCheckinExpected().isAfter(LocalDate.now().plusDays(1))) {
+                throw new BusinessException("Check-in is only allowed from 1 day before the expected date");
+            }
+            reservation.setStatus(ReservationStatus.CHECKED_IN);
+        });
+    }
 
-        reservation.setTotalAmount(totalAmount);
-        reservation.setStatus("CHECKED_OUT");
+    @Timed(value = "hotel.reservations.operation", extraTags = {"operation", "checkOut"}, histogram = true)
+    public ReservationResponseDTO checkOut(String id) {
+        return transition(id, ReservationStatus.CHECKED_IN, reservation -> {
+            BigDecimal totalAmount = calculateTotalAmount(reservation.getRoom().getPricePerNight(),
+                    reservation.getCheckinExpected(), reservation.getCheckoutExpected());
 
-        Reservation updatedReservation = reservationRepository.save(reservation);
-        return toDTO(updatedReservation);
+            reservation.setTotalAmount(totalAmount);
+            reservation.setStatus(ReservationStatus.CHECKED_OUT);
+        });
     }
 
-    @Transactional
+    @Timed(value = "hotel.reservations.operation", extraTags = {"operation", "cancel"}, histogram = true)
     public ReservationResponseDTO cancel(String id) {
-        Reservation reservation = reservationRepository.findByIdAndCreatedStatus(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Reservation not found or not in CREATED status: " + id));
+        return transition(id, ReservationStatus.CREATED,
+                reservation -> reservation.setStatus(ReservationStatus.CANCELED));
+    }
+
+    private ReservationResponseDTO transition(String id, ReservationStatus from, Consumer<Reservation> change) {
+        if (writeBehind.isEnabled()) {
+            return loggedTransition(id, from, change);
+        }
+        if ("pessimistic".equals(transitionLocking)) {
+            return lockedTransition(id, from, change);
+        }
+        UUID reservationId = EntityIds.parse(id).orElseThrow(() -> notFoundInStatus(id, from));
+
+        // Read, decide, then store with a single UPDATE guarded by the version that was read: of two
+        // concurrent transitions only one matches the row, and the other one re-reads it and finds it is
+        // no longer in the expected status. No row lock is held while the change is computed.
+        for (int attempt = 1; ; attempt++) {
+            Reservation reservation = reservationRepository.findByIdAndStatus(reservationId, from)
+                    .orElseThrow(() -> notFoundInStatus(id, from));
+            reservation.setRoom(roomService.findRoomEntityById(reservation.getRoom().getId()));
+            long readVersion = reservation.getVersion();
+            change.accept(reservation);
+
+            Boolean stored = transactionTemplate.execute(status -> {
+                int updated = reservationRepository.applyTransitionIfUnchanged(reservationId, readVersion,
+                        reservation.getStatus(), reservation.getTotalAmount(), reservation.getUpdatedAt());
+                if (updated == 0) {
+                    return false;
+                }
+                afterTransition(reservation);
+                return true;
+            });
+            if (Boolean.TRUE.equals(stored)) {
+                reservation.setVersion(readVersion + 1);
+                return toDTO(reservation);
+            }
+            if (attempt >= maxTransitionAttempts) {
+                throw new ConflictException("Reservation is being modified concurrently, please retry: " + id);
+            }
+        }
+    }
+
+    private ReservationResponseDTO lockedTransition(String id, ReservationStatus from, Consumer<Reservation> change) {
+        return transactionTemplate.execute(status -> {
+            Reservation reservation = EntityIds.parse(id)
+                    .flatMap(reservationRepository::findByIdForUpdate)
+                    .filter(locked -> locked.getStatus() == from)
+                    .orElseThrow(() -> notFoundInStatus(id, from));
+            change.accept(reservation);
+
+            Reservation updatedReservation = reservationRepository.saveAndFlush(reservation);
+            afterTransition(updatedReservation);
+            return toDTO(updatedReservation);
+        });
+    }
+
+    private void afterTransition(Reservation reservation) {
+        ReservationStayDTO stay = ReservationStayDTO.of(reservation);
+        afterCommit(() -> {
+            if (!ReservationStatus.ACTIVE_STATUSES.contains(reservation.getStatus())) {
+                availabilityIndex.remove(reservation);
+                inventoryService.remove(reservation);
+            }
+            reportService.recordTransition(stay);
+        });
+    }
+
+    private ReservationResponseDTO loggedTransition(String id, ReservationStatus from, Consumer<Reservation> change) {
+        UUID reservationId = EntityIds.parse(id).orElseThrow(() -> notFoundInStatus(id, from));
+
+        // Transitions of one reservation are serialized, so each one starts from the status logged by
+        // the previous one even before the background writer has stored it.
+        return reservationLockManager.withLock(reservationId, () -> {
+            // Read before the row: a transition leaves the overlay only after it has been committed.
+            Optional<ReservationTransition> logged = writeBehind.findPending(reservationId);
+            Reservation reservation = reservationRepository.findById(reservationId)
+                    .orElseThrow(() -> notFoundInStatus(id, from));
+            logged.ifPresent(transition -> transition.applyTo(reservation));
+            if (reservation.getStatus() != from) {
+                throw notFoundInStatus(id, from);
+            }
+            reservation.setRoom(roomService.findRoomEntityById(reservation.getRoom().getId()));
+            change.accept(reservation);
+
+            writeBehind.append(new ReservationTransition(reservationId, from, reservation.getStatus(),
+                    reservation.getTotalAmount(), reservation.getUpdatedAt()));
+            afterTransition(reservation);
+            return toDTO(reservation);
+        });
+    }
 
-        reservation.setStatus("CANCELED");
-        Reservation updatedReservation = reservationRepository.save(reservation);
-        return toDTO(updatedReservation);
+    private static ResourceNotFoundException notFoundInStatus(String id, ReservationStatus status) {
+        return new ResourceNotFoundException("Reservation not found or not in " + status + " status: " + id);
     }
 
     private void validateDates(LocalDate checkin, LocalDate checkout) {
@@ -124,6 +650,16 @@ public class ReservationService {
     }
 
     private void checkRoomAvailability(Room room, LocalDate checkin, LocalDate checkout) {
+        // The index answers without a round trip; the database stays the source of truth whenever
+        // the index is not warmed yet, reports a conflict, or verification is forced by configuration.
+        // In cluster mode the index misses bookings made on other nodes, so the database always decides.
+        if (availabilityIndex.isReady()
+                && !verifyWithDatabase
+                && !clusterRoomLocks.isEnabled()
+                && !availabilityIndex.hasOverlap(room.getId(), checkin, checkout)) {
+            return;
+        }
+
         List<Reservation> overlappingReservations = reservationRepository
                 .findOverlappingReservations(room, checkin, checkout);
 
@@ -132,23 +668,46 @@ public class ReservationService {
         }
     }
 
-    private ReservationResponseDTO toDTO(Reservation reservation) {
-        ReservationResponseDTO dto = new ReservationResponseDTO();
-        dto.setId(reservation.getId());
+    private Reservation insertGuardedByConstraint(Reservation reservation) {
+        // The exclusion constraint rejects overlapping active stays on insert, so no pre-query is needed;
+        // flushing here turns the violation into a 409 instead of a failed commit.
+        try {
+            return reservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message != null && message.contains(STAY_EXCLUSION_CONSTRAINT)) {
+                throw new ConflictException("Room not available for the selected dates");
+            }
+            throw e;
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 
-        RoomResponseDTO roomDTO = new RoomResponseDTO();
-        roomDTO.setId(reservation.getRoom().getId());
-        roomDTO.setNumber(reservation.getRoom().getNumber());
-        roomDTO.setType(reservation.getRoom().getType());
-        roomDTO.setCapacity(reservation.getRoom().getCapacity());
-        roomDTO.setPricePerNight(reservation.getRoom().getPricePerNight());
-        roomDTO.setStatus(reservation.getRoom().getStatus());
+    static BigDecimal calculateTotalAmount(BigDecimal pricePerNight, LocalDate checkin, LocalDate checkout) {
+        long nights = ChronoUnit.DAYS.between(checkin, checkout);
+        return pricePerNight.multiply(BigDecimal.valueOf(nights));
+    }
 
-        dto.setRoom(roomDTO);
+    ReservationResponseDTO toDTO(Reservation reservation) {
+        ReservationResponseDTO dto = new ReservationResponseDTO();
+        dto.setId(reservation.getId().toString());
+        dto.setRoom(RoomService.toDTO(reservation.getRoom()));
         dto.setGuestName(reservation.getGuestName());
         dto.setCheckinExpected(reservation.getCheckinExpected());
         dto.setCheckoutExpected(reservation.getCheckoutExpected());
-        dto.setStatus(reservation.getStatus());
+        dto.setStatus(reservation.getStatus().name());
         dto.setTotalAmount(reservation.getTotalAmount());
         dto.setCreatedAt(reservation.getCreatedAt());
         dto.setUpdatedAt(reservation.getUpdatedAt());
@@ -0,0 +1,64 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reservation counts per status for the metrics gauges. All statuses are counted in one grouped query,
+ * at most once per refresh interval, so a scrape reads the last counts instead of running a query per
+ * status. The counts come from the database, so they include the sweeper's changes and other nodes' bookings.
+ */
+@Component
+public class ReservationStatusCounts {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Value("${hotel.metrics.status-counts.refresh:PT15S}")
+    private Duration refresh;
+
+    private volatile Snapshot snapshot;
+
+    private final Lock loadLock = new ReentrantLock();
+
+    public long count(ReservationStatus status) {
+        return snapshot().counts.getOrDefault(status, 0L);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.isFresh()) {
+            return current;
+        }
+        // The gauges of all statuses are read in the same scrape: the first one reloads, the others wait for it.
+        loadLock.lock();
+        try {
+            current = snapshot;
+            if (current == null || !current.isFresh()) {
+                Map<ReservationStatus, Long> counts = new EnumMap<>(ReservationStatus.class);
+                reservationRepository.countGroupedByStatus()
+                        .forEach(count -> counts.put(count.getStatus(), count.getCount()));
+                current = new Snapshot(counts, System.nanoTime() + refresh.toNanos());
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private record Snapshot(Map<ReservationStatus, Long> counts, long expiresAt) {
+        boolean isFresh() {
+            return System.nanoTime() - expiresAt < 0;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.model.Reservation;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Moves reservations nobody will touch again out of the way of the booking queries:
+ * <ul>
+ *   <li>CREATED reservations whose check-in date is more than {@code no-show-after} in the past become
+ *   NO_SHOW, which frees their remaining nights;</li>
+ *   <li>CHECKED_OUT, CANCELED and NO_SHOW reservations whose stay ended more than {@code archive-after}
+ *   ago are copied to reservations_archive and deleted from reservations.</li>
+ * </ul>
+ * Both run as bulk statements over chunks of at most {@code chunk-size} rows, one transaction per chunk,
+ * and only on the node holding the sweeper's {@link SchedulerLease}.
+ */
+@Component
+public class ReservationSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationSweeper.class);
+
+    static final String LEASE = "reservation-sweeper";
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SchedulerLease lease;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationWriteBehind writeBehind;
+
+    @Autowired
+    private ReservationLockManager reservationLockManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${hotel.sweeper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hotel.sweeper.no-show-after:P1D}")
+    private Period noShowAfter;
+
+    @Value("${hotel.sweeper.archive-after:P365D}")
+    private Period archiveAfter;
+
+    @Value("${hotel.sweeper.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${hotel.sweeper.lock-at-most-for:PT10M}")
+    private Duration lockAtMostFor;
+
+    @Value("${hotel.sweeper.lock-at-least-for:PT1M}")
+    private Duration lockAtLeastFor;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder skippedRuns = new LongAdder();
+    private final LongAdder noShows = new LongAdder();
+    private final LongAdder archived = new LongAdder();
+    private volatile SweepResult lastRun = new SweepResult(0, 0, 0);
+
+    @Scheduled(fixedDelayString = "${hotel.sweeper.interval:PT15M}",
+            initialDelayString = "${hotel.sweeper.initial-delay:PT5M}")
+    public void scheduledSweep() {
+        if (enabled) {
+            sweep();
+        }
+    }
+
+    /**
+     * Runs one sweep if no other node is sweeping.
+     *
+     * @return what the sweep did, or empty when another node holds the lease
+     */
+    public Optional<SweepResult> sweep() {
+        if (!lease.tryAcquire(LEASE, lockAtMostFor)) {
+            skippedRuns.increment();
+            return Optional.empty();
+        }
+        try {
+            long started = System.nanoTime();
+            // Stop starting new chunks well before the lease runs out, so no other node can start
+            // sweeping while this one is still at it.
+            long deadline = started + lockAtMostFor.toNanos() / 2;
+            LocalDate today = LocalDate.now();
+            int markedNoShow = markNoShows(today.minus(noShowAfter), deadline);
+            int moved = archiveFinished(today.minus(archiveAfter), deadline);
+            SweepResult result = new SweepResult(markedNoShow, moved, System.nanoTime() - started);
+            runs.increment();
+            lastRun = result;
+            if (markedNoShow > 0 || moved > 0) {
+                log.info("Reservation sweep: {} no-shows, {} archived in {} ms ({} rows/s)", markedNoShow, moved,
+                        TimeUnit.NANOSECONDS.toMillis(result.durationNanos()), Math.round(result.rowsPerSecond()));
+            }
+            return Optional.of(result);
+        } finally {
+            lease.release(LEASE, lockAtLeastFor);
+        }
+    }
+
+    private int markNoShows(LocalDate checkinBefore, long deadline) {
+        int total = 0;
+        Set<UUID> skipped = new HashSet<>();
+        while (System.nanoTime() < deadline) {
+            List<Reservation> candidates = reservationRepository.findByStatusAndCheckinBefore(
+                    ReservationStatus.CREATED, checkinBefore, Limit.of(chunkSize + skipped.size()));
+            List<Reservation> chunk = candidates.stream()
+                    .filter(reservation -> !skipped.contains(reservation.getId()))
+                    .limit(chunkSize)
+                    .toList();
+            if (chunk.isEmpty()) {
+                break;
+            }
+            List<UUID> ids = chunk.stream().map(Reservation::getId).toList();
+            List<UUID> marked = writeBehind.isEnabled()
+                    // Same locks as logged transitions, so none is logged between the check and the UPDATE.
+                    ? reservationLockManager.withLocks(ids, () -> markNoShows(ids.stream()
+                            .filter(id -> writeBehind.findPending(id).isEmpty())
+                            .toList()))
+                    : markNoShows(ids);
+
+            Set<UUID> markedIds = new HashSet<>(marked);
+            for (Reservation reservation : chunk) {
+                if (markedIds.contains(reservation.getId())) {
+                    availabilityIndex.remove(reservation);
+                    inventoryService.remove(reservation);
+                } else {
+                    // Checked in or canceled meanwhile, or has a logged transition still to be stored.
+                    skipped.add(reservation.getId());
+                }
+            }
+            noShows.add(marked.size());
+            total += marked.size();
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private List<UUID> markNoShows(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return transactionTemplate.execute(status -> {
+            int updated = reservationRepository.applyTransitionToAll(ids, ReservationStatus.CREATED,
+                    ReservationStatus.NO_SHOW, LocalDateTime.now());
+            // Only this node sweeps, so the rows of the chunk now in NO_SHOW are the ones just updated.
+            return updated == ids.size() ? ids : reservationRepository.findIdsInStatus(ids, ReservationStatus.NO_SHOW);
+        });
+    }
+
+    private int archiveFinished(LocalDate checkoutBefore, long deadline) {
+        int total = 0;
+        while (System.nanoTime() < deadline) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<UUID> ids = reservationRepository.findIdsToArchive(ReservationStatus.FINAL_STATUSES,
+                        checkoutBefore, Limit.of(chunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                reservationRepository.copyToArchive(ids, LocalDateTime.now());
+                return reservationRepository.deleteAllByIdIn(ids);
+            });
+            int count = moved == null ? 0 : moved;
+            archived.add(count);
+            total += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    public long getRunCount() { return runs.sum(); }
+
+    public long getSkippedRunCount() { return skippedRuns.sum(); }
+
+    public long getNoShowCount() { return noShows.sum(); }
+
+    public long getArchivedCount() { return archived.sum(); }
+
+    public double getLastRunSeconds() { return lastRun.durationNanos() / 1e9; }
+
+    public double getLastRunRowsPerSecond() { return lastRun.rowsPerSecond(); }
+
+    public record SweepResult(int noShows, int archived, long durationNanos) {
+
+        public double rowsPerSecond() {
+            return durationNanos == 0 ? 0 : (noShows + archived) * 1e9 / durationNanos;
+        }
+    }
+}
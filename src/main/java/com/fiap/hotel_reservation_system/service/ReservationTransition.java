@@ -0,0 +1,46 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.model.Reservation;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A status change of one reservation, as recorded in the {@link ReservationEventLog}.
+ */
+public record ReservationTransition(UUID reservationId,
+                                    ReservationStatus from,
+                                    ReservationStatus to,
+                                    BigDecimal totalAmount,
+                                    LocalDateTime updatedAt) {
+
+    void applyTo(Reservation reservation) {
+        reservation.setStatus(to);
+        reservation.setTotalAmount(totalAmount);
+        reservation.setUpdatedAt(updatedAt);
+    }
+
+    void applyTo(ReservationResponseDTO reservation) {
+        reservation.setStatus(to.name());
+        reservation.setTotalAmount(totalAmount);
+        reservation.setUpdatedAt(updatedAt);
+    }
+
+    /**
+     * The transitions of {@code pending} (oldest first) that a row in the {@code stored} status does not
+     * reflect yet. A reservation never returns to a status it has left, so they start at the one that
+     * leaves the stored status.
+     */
+    static List<ReservationTransition> notStoredIn(List<ReservationTransition> pending, ReservationStatus stored) {
+        for (int i = 0; i < pending.size(); i++) {
+            if (pending.get(i).from() == stored) {
+                return pending.subList(i, pending.size());
+            }
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,287 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Optional write-behind mode for reservation status changes: a transition is acknowledged once it is
+ * durable in the {@link ReservationEventLog} and a background thread applies the log to the
+ * reservations table, many transitions per transaction.
+ *
+ * Until a transition is applied, {@link #findPending} returns it so the next transition of the same
+ * reservation starts from the right status, and reads overlay it on the stored row. Transitions left in
+ * the log by a crash are applied on startup, before the application serves requests.
+ *
+ * A transition whose update matches no row only counts as applied if the row already has the status it
+ * leads to (a replay after a crash). Otherwise something else changed the reservation in the meantime:
+ * the transition is rejected, logged at error, counted and appended to {@code rejected.log} next to the
+ * log segments for reconciliation, and the checkpoint moves past it like any other transition.
+ */
+@Component
+public class ReservationWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationWriteBehind.class);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+    private static final String DEAD_LETTERS = "rejected.log";
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${hotel.booking.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${hotel.booking.write-behind.directory:data/reservation-log}")
+    private Path directory;
+
+    @Value("${hotel.booking.write-behind.segment-size:64MB}")
+    private DataSize segmentSize;
+
+    @Value("${hotel.booking.write-behind.batch-size:500}")
+    private int batchSize;
+
+    // The logged transitions of each reservation that are not stored yet, in log order. The lists are
+    // never modified, only replaced.
+    private final Map<UUID, List<ReservationEventLog.Entry>> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<ReservationEventLog.Entry> toApply = new LinkedBlockingQueue<>();
+
+    // Transitions the database did not take, see rejected.log.
+    private final LongAdder rejections = new LongAdder();
+
+    private ReservationEventLog eventLog;
+    private Thread applier;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        eventLog = new ReservationEventLog(directory, segmentSize.toBytes(), batchSize, this::onDurable);
+        List<ReservationEventLog.Entry> unapplied = eventLog.open();
+        for (int from = 0; from < unapplied.size(); from += batchSize) {
+            apply(unapplied.subList(from, Math.min(from + batchSize, unapplied.size())),
+                    unapplied.subList(from, unapplied.size()));
+        }
+        if (!unapplied.isEmpty()) {
+            log.info("Replayed {} reservation transitions from {}", unapplied.size(), directory);
+        }
+
+        eventLog.start();
+        running = true;
+        applier = Thread.ofPlatform().name("reservation-write-behind").daemon().start(this::applyLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        eventLog.close();
+        running = false;
+        try {
+            applier.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Blocks until the transition is durable in the log.
+     */
+    public void append(ReservationTransition transition) {
+        eventLog.append(transition);
+    }
+
+    /**
+     * The latest transition of the reservation that is durable in the log but not stored yet, if any.
+     */
+    public Optional<ReservationTransition> findPending(UUID reservationId) {
+        List<ReservationEventLog.Entry> entries = pending.get(reservationId);
+        return entries == null ? Optional.empty() : Optional.of(entries.get(entries.size() - 1).transition());
+    }
+
+    /**
+     * Every transition of the reservation that is durable in the log but not stored yet, oldest first.
+     * Look them up before reading the row they are overlaid on: a transition leaves this list only after
+     * it has been committed, so it is always in one of the two.
+     */
+    public List<ReservationTransition> findAllPending(UUID reservationId) {
+        List<ReservationEventLog.Entry> entries = pending.get(reservationId);
+        return entries == null ? List.of() : entries.stream().map(ReservationEventLog.Entry::transition).toList();
+    }
+
+    /**
+     * {@link #findAllPending} for every reservation with a transition not stored yet.
+     */
+    public Map<UUID, List<ReservationTransition>> findAllPending() {
+        if (pending.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, List<ReservationTransition>> all = new HashMap<>();
+        pending.forEach((reservationId, entries) ->
+                all.put(reservationId, entries.stream().map(ReservationEventLog.Entry::transition).toList()));
+        return all;
+    }
+
+    public int getBacklog() {
+        return pending.size();
+    }
+
+    public long getRejectedCount() {
+        return rejections.sum();
+    }
+
+    private void onDurable(List<ReservationEventLog.Entry> entries) {
+        entries.forEach(entry -> pending.merge(entry.transition().reservationId(), List.of(entry),
+                (logged, added) -> Stream.concat(logged.stream(), added.stream()).toList()));
+        toApply.addAll(entries);
+    }
+
+    private void applyLoop() {
+        List<ReservationEventLog.Entry> batch = new ArrayList<>(batchSize);
+        while (running || !toApply.isEmpty()) {
+            try {
+                ReservationEventLog.Entry first = toApply.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                toApply.drainTo(batch, batchSize - 1);
+                applyWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void applyWithRetry(List<ReservationEventLog.Entry> batch) throws InterruptedException {
+        while (true) {
+            try {
+                apply(batch, batch);
+                return;
+            } catch (RuntimeException | IOException e) {
+                // The transitions are durable in the log, so they are retried rather than dropped.
+                log.error("Could not apply {} reservation transitions, retrying in {}", batch.size(), RETRY_DELAY, e);
+                Thread.sleep(RETRY_DELAY.toMillis());
+            }
+        }
+    }
+
+    /**
+     * @param logged the batch followed by the transitions logged after it, if already known (on replay)
+     */
+    private void apply(List<ReservationEventLog.Entry> batch, List<ReservationEventLog.Entry> logged)
+            throws IOException {
+        Map<ReservationEventLog.Entry, Optional<ReservationStatus>> rejected = new LinkedHashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            rejected.clear();
+            for (int i = 0; i < batch.size(); i++) {
+                ReservationEventLog.Entry entry = batch.get(i);
+                ReservationTransition transition = entry.transition();
+                int updated = reservationRepository.applyTransition(transition.reservationId(), transition.from(),
+                        transition.to(), transition.totalAmount(), transition.updatedAt());
+                if (updated == 0) {
+                    Optional<ReservationStatus> stored =
+                            reservationRepository.findStatusById(transition.reservationId());
+                    if (stored.isPresent() && isAppliedIn(stored.get(), logged, i)) {
+                        log.debug("Transition {} of reservation {} was already applied", entry.sequence(),
+                                transition.reservationId());
+                    } else {
+                        rejected.put(entry, stored);
+                    }
+                }
+            }
+        });
+        if (!rejected.isEmpty()) {
+            deadLetter(rejected);
+        }
+        eventLog.markApplied(batch.get(batch.size() - 1).sequence());
+        batch.forEach(entry -> pending.computeIfPresent(entry.transition().reservationId(), (id, entries) -> {
+            List<ReservationEventLog.Entry> rest = entries.stream()
+                    .filter(other -> other.sequence() > entry.sequence())
+                    .toList();
+            return rest.isEmpty() ? null : rest;
+        }));
+    }
+
+    // Written and forced before the checkpoint moves past the entries: after a crash in between they are
+    // rejected again on replay and may show up twice in the file.
+    private void deadLetter(Map<ReservationEventLog.Entry, Optional<ReservationStatus>> rejected) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        rejected.forEach((entry, stored) -> {
+            ReservationTransition transition = entry.transition();
+            String storedStatus = stored.map(Enum::name).orElse("MISSING");
+            log.error("Transition {} of reservation {} from {} to {} does not match the stored status {}; "
+                            + "it was acknowledged but not stored, see {}", entry.sequence(),
+                    transition.reservationId(), transition.from(), transition.to(), storedStatus,
+                    directory.resolve(DEAD_LETTERS));
+            lines.append(entry.sequence()).append('\t').append(transition.reservationId())
+                    .append('\t').append(transition.from()).append('\t').append(transition.to())
+                    .append('\t').append(transition.totalAmount()).append('\t').append(transition.updatedAt())
+                    .append('\t').append(storedStatus).append('\n');
+            rejections.increment();
+        });
+        try (FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTERS), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+    }
+
+    // Whether the stored status is the one the transition at logged[index] leads to, possibly followed by
+    // later logged transitions of the same reservation that were stored before a crash.
+    private static boolean isAppliedIn(ReservationStatus stored, List<ReservationEventLog.Entry> logged, int index) {
+        ReservationTransition transition = logged.get(index).transition();
+        ReservationStatus reached = transition.to();
+        for (int i = index + 1; reached != stored && i < logged.size(); i++) {
+            ReservationTransition next = logged.get(i).transition();
+            if (next.reservationId().equals(transition.reservationId()) && next.from() == reached) {
+                reached = next.to();
+            }
+        }
+        return reached == stored;
+    }
+}
@@ -0,0 +1,138 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.model.Reservation;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of the active (CREATED / CHECKED_IN) stays of every room.
+ *
+ * Stays of a room never overlap each other, so sorting them by check-in date also sorts them by
+ * check-out date and an overlap check only has to look at the stay that starts right before the
+ * requested check-out (O(log n) per room).
+ *
+ * The index is rebuilt into a new map while requests keep using the current one. Changes made while the
+ * active reservations are being read are also journaled and replayed on the new map before it is swapped
+ * in, so a booking committed during the rebuild is not lost.
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Value("${hotel.availability.index.enabled:true}")
+    private boolean enabled;
+
+    private volatile Map<UUID, NavigableMap<LocalDate, Stay>> staysByRoom = new ConcurrentHashMap<>();
+
+    // Changes take the read lock; the replay of the journal and the swap take the write lock, so no change
+    // can land on the old map after the journal has been replayed.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile Queue<Consumer<Map<UUID, NavigableMap<LocalDate, Stay>>>> journal;
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        Queue<Consumer<Map<UUID, NavigableMap<LocalDate, Stay>>>> changes = new ConcurrentLinkedQueue<>();
+        journal = changes;
+        Map<UUID, NavigableMap<LocalDate, Stay>> rebuilt = new ConcurrentHashMap<>();
+        List<Reservation> activeReservations = reservationRepository.findByStatusIn(ReservationStatus.ACTIVE_STATUSES);
+        activeReservations.forEach(reservation -> add(rebuilt, reservation));
+
+        lock.writeLock().lock();
+        try {
+            // Adding and removing a stay are idempotent, so replaying a change that the query already saw is
+            // harmless.
+            changes.forEach(change -> change.accept(rebuilt));
+            staysByRoom = rebuilt;
+            journal = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Room availability index warmed with {} active reservations", activeReservations.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean hasOverlap(UUID roomId, LocalDate checkin, LocalDate checkout) {
+        NavigableMap<LocalDate, Stay> stays = staysByRoom.get(roomId);
+        if (stays == null) {
+            return false;
+        }
+        Map.Entry<LocalDate, Stay> previous = stays.floorEntry(checkout);
+        return previous != null && !previous.getValue().checkout().isBefore(checkin);
+    }
+
+    public void add(Reservation reservation) {
+        apply(stays -> add(stays, reservation));
+    }
+
+    public void remove(Reservation reservation) {
+        apply(stays -> remove(stays, reservation));
+    }
+
+    private void apply(Consumer<Map<UUID, NavigableMap<LocalDate, Stay>>> change) {
+        lock.readLock().lock();
+        try {
+            change.accept(staysByRoom);
+            Queue<Consumer<Map<UUID, NavigableMap<LocalDate, Stay>>>> changes = journal;
+            if (changes != null) {
+                changes.add(change);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void add(Map<UUID, NavigableMap<LocalDate, Stay>> staysByRoom, Reservation reservation) {
+        NavigableMap<LocalDate, Stay> stays = staysByRoom.computeIfAbsent(
+                reservation.getRoom().getId(), roomId -> new ConcurrentSkipListMap<>());
+        stays.put(reservation.getCheckinExpected(),
+                new Stay(reservation.getId(), reservation.getCheckinExpected(), reservation.getCheckoutExpected()));
+    }
+
+    private static void remove(Map<UUID, NavigableMap<LocalDate, Stay>> staysByRoom, Reservation reservation) {
+        NavigableMap<LocalDate, Stay> stays = staysByRoom.get(reservation.getRoom().getId());
+        if (stays == null) {
+            return;
+        }
+        Stay stay = stays.get(reservation.getCheckinExpected());
+        if (stay != null && stay.reservationId().equals(reservation.getId())) {
+            stays.remove(reservation.getCheckinExpected(), stay);
+        }
+    }
+
+    private record Stay(UUID reservationId, LocalDate checkin, LocalDate checkout) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.RoomResponseDTO;
+import com.fiap.hotel_reservation_system.model.Room;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+import com.fiap.hotel_reservation_system.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the whole room catalog, rebuilt on the first read after a write
+ * ({@link RoomService#create} / {@link RoomService#deactivate}) or after the TTL expires.
+ *
+ * The snapshot keeps {@link CatalogRoom} copies of the rows rather than the entities, so nothing a caller
+ * does to a room it got from here leaks into the catalog. Only one thread reloads an expired snapshot;
+ * the others wait for its result instead of each running the same query.
+ */
+@Component
+public class RoomCatalog {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Value("${hotel.room-catalog.ttl:PT5M}")
+    private Duration ttl;
+
+    private volatile Snapshot snapshot;
+
+    // Bumped on every invalidation so a load that raced with a write never installs stale data.
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Lock loadLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public List<RoomResponseDTO> findAll() {
+        return snapshot().rooms;
+    }
+
+    public List<RoomResponseDTO> findByStatus(String status) {
+        return snapshot().roomsByStatus.getOrDefault(status, List.of());
+    }
+
+    /**
+     * Version tag of the whole catalog: it changes whenever a room is added or updated, and is the same
+     * on every node that has loaded the same rows.
+     */
+    public String getVersionTag() {
+        return snapshot().versionTag;
+    }
+
+    public Collection<CatalogRoom> findAllRooms() {
+        return snapshot().roomsById.values();
+    }
+
+    public Optional<CatalogRoom> findById(UUID id) {
+        CatalogRoom room = snapshot().roomsById.get(id);
+        if (room != null) {
+            return Optional.of(room);
+        }
+        // Rooms created outside this node are only picked up after a reload.
+        Optional<CatalogRoom> stored = roomRepository.findById(id).map(CatalogRoom::of);
+        stored.ifPresent(found -> invalidate());
+        return stored;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        if (snapshot != null) {
+            snapshot = null;
+            evictions.increment();
+        }
+    }
+
+    public long getHitCount() { return hits.sum(); }
+
+    public long getMissCount() { return misses.sum(); }
+
+    public long getEvictionCount() { return evictions.sum(); }
+
+    public long getSize() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.roomsById.size();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired(ttl)) {
+            hits.increment();
+            return current;
+        }
+
+        loadLock.lock();
+        try {
+            // Another thread may have reloaded while this one waited for the lock.
+            current = snapshot;
+            if (current != null && !current.isExpired(ttl)) {
+                hits.increment();
+                return current;
+            }
+            if (current != null) {
+                evictions.increment();
+            }
+            misses.increment();
+
+            long loadGeneration = generation.get();
+            Snapshot loaded = new Snapshot(roomRepository.findAll());
+            if (generation.get() == loadGeneration) {
+                snapshot = loaded;
+            }
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Read-only copy of a room row as of the last catalog load.
+     */
+    public record CatalogRoom(UUID id, Integer number, RoomType type, Integer capacity, BigDecimal pricePerNight,
+                              RoomStatus status, Long version) {
+
+        static CatalogRoom of(Room room) {
+            return new CatalogRoom(room.getId(), room.getNumber(), room.getType(), room.getCapacity(),
+                    room.getPricePerNight(), room.getStatus(), room.getVersion());
+        }
+
+        /**
+         * A new detached entity for this row, e.g. to reference the room from a reservation.
+         */
+        public Room toEntity() {
+            Room room = new Room();
+            room.setId(id);
+            room.setNumber(number);
+            room.setType(type);
+            room.setCapacity(capacity);
+            room.setPricePerNight(pricePerNight);
+            room.setStatus(status);
+            room.setVersion(version);
+            return room;
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<UUID, CatalogRoom> roomsById;
+        private final List<RoomResponseDTO> rooms;
+        private final Map<String, List<RoomResponseDTO>> roomsByStatus;
+        private final String versionTag;
+        private final long loadedAt = System.nanoTime();
+
+        private Snapshot(List<Room> entities) {
+            this.roomsById = Collections.unmodifiableMap(entities.stream()
+                    .map(CatalogRoom::of)
+                    .collect(Collectors.toMap(CatalogRoom::id, Function.identity(), (a, b) -> a, LinkedHashMap::new)));
+            this.rooms = entities.stream()
+                    .map(RoomService::toDTO)
+                    .collect(Collectors.toUnmodifiableList());
+            this.roomsByStatus = rooms.stream()
+                    .collect(Collectors.groupingBy(RoomResponseDTO::getStatus, Collectors.toUnmodifiableList()));
+            this.versionTag = versionTag(entities);
+        }
+
+        private static String versionTag(List<Room> entities) {
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+            entities.stream()
+                    .sorted(Comparator.comparing(Room::getId))
+                    .forEach(room -> digest.update((room.getId() + ":" + room.getVersion() + "\n")
+                            .getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        }
+
+        private boolean isExpired(Duration ttl) {
+            return System.nanoTime() - loadedAt > ttl.toNanos();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.fiap.hotel_reservation_system.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Striped locks that serialize bookings of the same room while bookings of different rooms
+ * (almost always on different stripes) run in parallel.
+ */
+@Component
+public class RoomLockManager extends StripedLocks {
+
+    public RoomLockManager(@Value("${hotel.booking.lock-stripes:256}") int stripeCount) {
+        super(stripeCount);
+    }
+}
@@ -6,11 +6,21 @@ import com.fiap.hotel_reservation_system.dto.RoomResponseDTO;
 import com.fiap.hotel_reservation_system.exception.BusinessException;
 import com.fiap.hotel_reservation_system.exception.ResourceNotFoundException;
 import com.fiap.hotel_reservation_system.model.Room;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
 import com.fiap.hotel_reservation_system.repository.RoomRepository;
+import com.fiap.hotel_reservation_system.service.RoomCatalog.CatalogRoom;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,25 +29,68 @@ public class RoomService {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private ClusterRoomLocks clusterRoomLocks;
+
     public List<RoomResponseDTO> findAll() {
-        return roomRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return roomCatalog.findAll();
     }
 
     public List<RoomResponseDTO> findByStatus(String status) {
-        return roomRepository.findByStatus(status).stream()
-                .map(this::toDTO)
+        return roomCatalog.findByStatus(status);
+    }
+
+    public List<RoomResponseDTO> findAvailable(LocalDate checkin, LocalDate checkout, String type, Integer minCapacity) {
+        if (!checkout.isAfter(checkin)) {
+            throw new BusinessException("Check-out date must be after check-in date");
+        }
+        int capacity = minCapacity == null ? 1 : minCapacity;
+        Optional<RoomType> roomType = Optional.ofNullable(type).flatMap(RoomType::fromName);
+        if (type != null && roomType.isEmpty()) {
+            return List.of();
+        }
+
+        // In cluster mode the index misses bookings made on other nodes, so the database answers.
+        if (!availabilityIndex.isReady() || clusterRoomLocks.isEnabled()) {
+            return roomRepository.findAvailable(roomType.orElse(null), capacity, checkin, checkout).stream()
+                    .map(RoomService::toDTO)
+                    .collect(Collectors.toList());
+        }
+
+        // Active rooms come from the catalog snapshot and each overlap check is a single index lookup,
+        // so the search never touches the database.
+        return roomCatalog.findAllRooms().stream()
+                .filter(room -> room.status() == RoomStatus.ACTIVE)
+                .filter(room -> roomType.isEmpty() || roomType.get() == room.type())
+                .filter(room -> room.capacity() >= capacity)
+                .filter(room -> !availabilityIndex.hasOverlap(room.id(), checkin, checkout))
+                .sorted(Comparator.comparing(CatalogRoom::number))
+                .map(RoomService::toDTO)
                 .collect(Collectors.toList());
     }
 
+    public String getCatalogVersionTag() {
+        return roomCatalog.getVersionTag();
+    }
+
+    public Optional<String> findVersionTag(String id) {
+        return EntityIds.parse(id).flatMap(roomCatalog::findById).map(room -> String.valueOf(room.version()));
+    }
+
     public RoomResponseDTO findById(String id) {
-        Room room = roomRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + id));
-        return toDTO(room);
+        return toDTO(findRoomEntityById(id));
     }
 
     public RoomResponseDTO create(RoomRequestDTO dto) {
+        RoomType type = RoomType.fromName(dto.getType())
+                .orElseThrow(() -> new BusinessException("Invalid room type: " + dto.getType()));
+
         // Check if room number already exists
         roomRepository.findByNumber(dto.getNumber())
                 .ifPresent(room -> {
@@ -46,35 +99,60 @@ public class RoomService {
 
         Room room = new Room();
         room.setNumber(dto.getNumber());
-        room.setType(dto.getType());
+        room.setType(type);
         room.setCapacity(dto.getCapacity());
         room.setPricePerNight(dto.getPricePerNight());
-        room.setStatus("ACTIVE");
+        room.setStatus(RoomStatus.ACTIVE);
 
         Room savedRoom = roomRepository.save(room);
+        clusterRoomLocks.addRoom(savedRoom.getId());
+        roomCatalog.invalidate();
         return toDTO(savedRoom);
     }
 
     public void deactivate(String id) {
-        Room room = roomRepository.findById(id)
+        Room room = EntityIds.parse(id).flatMap(roomRepository::findById)
                 .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + id));
-        room.setStatus("INACTIVE");
+        room.setStatus(RoomStatus.INACTIVE);
         roomRepository.save(room);
+        roomCatalog.invalidate();
     }
 
-    private RoomResponseDTO toDTO(Room room) {
+    static RoomResponseDTO toDTO(Room room) {
         RoomResponseDTO dto = new RoomResponseDTO();
-        dto.setId(room.getId());
+        dto.setId(room.getId().toString());
         dto.setNumber(room.getNumber());
-        dto.setType(room.getType());
+        dto.setType(room.getType().name());
         dto.setCapacity(room.getCapacity());
         dto.setPricePerNight(room.getPricePerNight());
-        dto.setStatus(room.getStatus());
+        dto.setStatus(room.getStatus().name());
+        return dto;
+    }
+
+    static RoomResponseDTO toDTO(CatalogRoom room) {
+        RoomResponseDTO dto = new RoomResponseDTO();
+        dto.setId(room.id().toString());
+        dto.setNumber(room.number());
+        dto.setType(room.type().name());
+        dto.setCapacity(room.capacity());
+        dto.setPricePerNight(room.pricePerNight());
+        dto.setStatus(room.status().name());
         return dto;
     }
 
     public Room findRoomEntityById(String id) {
-        return roomRepository.findById(id)
+        return EntityIds.parse(id).flatMap(roomCatalog::findById).map(CatalogRoom::toEntity)
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + id));
+    }
+
+    public Room findRoomEntityById(UUID id) {
+        return roomCatalog.findById(id).map(CatalogRoom::toEntity)
                 .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + id));
     }
-}
\ No newline at end of file
+
+    public Map<UUID, Room> findRoomEntitiesByIds(Collection<UUID> ids) {
+        Map<UUID, Room> rooms = new HashMap<>();
+        ids.forEach(id -> roomCatalog.findById(id).ifPresent(room -> rooms.put(id, room.toEntity())));
+        return rooms;
+    }
+}
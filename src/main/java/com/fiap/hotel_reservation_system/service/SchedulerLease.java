@@ -0,0 +1,83 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.model.SchedulerLock;
+import com.fiap.hotel_reservation_system.repository.SchedulerLockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named leases in the {@code scheduler_locks} table, so a scheduled job runs on one node at a time.
+ *
+ * A lease is taken by moving {@code locked_until} forward with a single conditional UPDATE that only
+ * matches an expired row (the row is inserted the first time a name is used). It lasts at most
+ * {@code lockAtMostFor} even if the holder dies, and on release is kept until at least
+ * {@code lockAtLeastFor} after it was taken, so nodes whose clocks are slightly apart do not run the
+ * same job twice in a row.
+ */
+@Component
+public class SchedulerLease {
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${hotel.node-id:}")
+    private String configuredNodeId;
+
+    private final Map<String, LocalDateTime> heldSince = new ConcurrentHashMap<>();
+
+    public boolean tryAcquire(String name, Duration lockAtMostFor) {
+        LocalDateTime now = now();
+        LocalDateTime until = now.plus(lockAtMostFor);
+        Integer updated = transactionTemplate.execute(status ->
+                schedulerLockRepository.acquireIfExpired(name, until, now, nodeId()));
+        boolean acquired = updated != null && updated == 1;
+        if (!acquired && !schedulerLockRepository.existsById(name)) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        schedulerLockRepository.saveAndFlush(new SchedulerLock(name, until, now, nodeId())));
+                acquired = true;
+            } catch (DataIntegrityViolationException e) {
+                // Another node inserted the row first and holds the lease.
+            }
+        }
+        if (acquired) {
+            heldSince.put(name, now);
+        }
+        return acquired;
+    }
+
+    public void release(String name, Duration lockAtLeastFor) {
+        LocalDateTime lockedAt = heldSince.remove(name);
+        if (lockedAt == null) {
+            return;
+        }
+        LocalDateTime keepUntil = lockedAt.plus(lockAtLeastFor);
+        LocalDateTime now = now();
+        LocalDateTime until = keepUntil.isAfter(now) ? keepUntil : now;
+        transactionTemplate.executeWithoutResult(status ->
+                schedulerLockRepository.release(name, until, nodeId(), lockedAt));
+    }
+
+    public String nodeId() {
+        // "pid@hostname" tells apart nodes on different hosts and several instances on one host.
+        return configuredNodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : configuredNodeId;
+    }
+
+    // Millisecond precision round-trips through every supported TIMESTAMP column unchanged.
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+}
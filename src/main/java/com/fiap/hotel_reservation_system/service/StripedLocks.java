@@ -0,0 +1,50 @@
+package com.fiap.hotel_reservation_system.service;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of locks that ids are hashed onto: work on the same id is serialized while work on
+ * different ids (almost always on different stripes) runs in parallel.
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLocks(int stripeCount) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(UUID id, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeOf(id)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T withLocks(Collection<UUID> ids, Supplier<T> action) {
+        // Stripes are always taken in ascending order so two multi-id callers cannot deadlock.
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        ids.forEach(id -> stripeIndexes.add(stripeOf(id)));
+
+        stripeIndexes.forEach(index -> stripes[index].lock());
+        try {
+            return action.get();
+        } finally {
+            stripeIndexes.descendingSet().forEach(index -> stripes[index].unlock());
+        }
+    }
+
+    private int stripeOf(UUID id) {
+        return Math.floorMod(id.hashCode() * 0x9E3779B9, stripes.length);
+    }
+}
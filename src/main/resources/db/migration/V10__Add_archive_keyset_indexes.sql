@@ -0,0 +1,3 @@
+-- Keyset pagination over (created_at, id) for the history lists that read reservations_archive too
+CREATE INDEX idx_reservations_archive_created_id ON reservations_archive(created_at, id);
+CREATE INDEX idx_reservations_archive_status_created_id ON reservations_archive(status, created_at, id);
@@ -0,0 +1,8 @@
+-- One row per room, locked with SELECT ... FOR UPDATE by the booking transaction in cluster mode so that
+-- nodes book the same room one at a time. Rooms created later get their row on their first booking.
+CREATE TABLE room_locks (
+    room_id UUID PRIMARY KEY,
+    CONSTRAINT fk_room_locks_room FOREIGN KEY (room_id) REFERENCES rooms(id)
+);
+
+INSERT INTO room_locks (room_id) SELECT id FROM rooms;
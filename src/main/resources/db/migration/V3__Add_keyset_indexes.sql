@@ -0,0 +1,2 @@
+CREATE INDEX idx_reservations_created_id ON reservations(created_at, id);
+CREATE INDEX idx_reservations_status_created_id ON reservations(status, created_at, id);
@@ -0,0 +1,3 @@
+-- Row versions for optimistic locking and HTTP ETags; bumped on every update of the row.
+ALTER TABLE rooms ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE reservations ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,15 @@
+-- Finished reservations moved out of reservations by the sweeper: same columns, plus when the row was moved.
+CREATE TABLE reservations_archive (
+    id UUID PRIMARY KEY,
+    room_id UUID NOT NULL,
+    guest_name VARCHAR(120) NOT NULL,
+    checkin_expected DATE NOT NULL,
+    checkout_expected DATE NOT NULL,
+    status SMALLINT NOT NULL,
+    total_amount DECIMAL(10,2),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT DEFAULT 0 NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_reservation_archive_room FOREIGN KEY (room_id) REFERENCES rooms(id)
+);
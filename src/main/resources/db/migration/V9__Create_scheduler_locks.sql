@@ -0,0 +1,8 @@
+-- Leases for jobs that must run on one node at a time: a node runs the job only after moving
+-- locked_until of the job's row from the past into the future.
+CREATE TABLE scheduler_locks (
+    name VARCHAR(64) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,80 @@
+package com.fiap.hotel_reservation_system;
+
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.exception.ConflictException;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.service.ReservationService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the postgres profile against an embedded PostgreSQL binary, so the exclusion constraint
+ * itself is what rejects the overlapping booking.
+ */
+class PostgresProfileTests {
+
+	private static final String ROOM_ID = "dddddddd-dddd-dddd-dddd-dddddddddddd";
+
+	private static EmbeddedPostgres postgres;
+	private static ConfigurableApplicationContext context;
+
+	@BeforeAll
+	static void startPostgres() throws Exception {
+		postgres = EmbeddedPostgres.start();
+		context = new SpringApplicationBuilder(HotelReservationSystemApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("postgres")
+				.run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+						"--spring.datasource.username=postgres",
+						"--spring.datasource.password=",
+						"--spring.jpa.show-sql=false");
+	}
+
+	@AfterAll
+	static void stopPostgres() throws Exception {
+		if (context != null) {
+			context.close();
+		}
+		if (postgres != null) {
+			postgres.close();
+		}
+	}
+
+	@Test
+	void exclusionConstraintRejectsOverlappingStay() {
+		ReservationService reservationService = context.getBean(ReservationService.class);
+		LocalDate checkin = LocalDate.now().plusYears(4);
+
+		reservationService.create(request(checkin, checkin.plusDays(3)));
+
+		assertThrows(ConflictException.class,
+				() -> reservationService.create(request(checkin.plusDays(3), checkin.plusDays(5))));
+		reservationService.create(request(checkin.plusDays(4), checkin.plusDays(6)));
+
+		Integer active = context.getBean(JdbcTemplate.class).queryForObject(
+				"SELECT COUNT(*) FROM reservations WHERE room_id = ? AND status = ?", Integer.class,
+				UUID.fromString(ROOM_ID), ReservationStatus.CREATED.getCode());
+		assertEquals(2, active);
+	}
+
+	private ReservationRequestDTO request(LocalDate checkin, LocalDate checkout) {
+		ReservationRequestDTO dto = new ReservationRequestDTO();
+		dto.setRoomId(ROOM_ID);
+		dto.setGuestName("Postgres Guest");
+		dto.setCheckinExpected(checkin);
+		dto.setCheckoutExpected(checkout);
+		return dto;
+	}
+}
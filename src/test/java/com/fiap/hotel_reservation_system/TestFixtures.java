@@ -0,0 +1,39 @@
+package com.fiap.hotel_reservation_system;
+
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.dto.RoomRequestDTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Requests for the rooms and reservations that tests set up through the services. Tests sharing the
+ * in-memory database keep apart by room number (each class uses its own range) and stay dates.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static RoomRequestDTO room(int number) {
+        return room(number, "STANDARD", 2, "250.00");
+    }
+
+    public static RoomRequestDTO room(int number, String type, int capacity, String pricePerNight) {
+        RoomRequestDTO room = new RoomRequestDTO();
+        room.setNumber(number);
+        room.setType(type);
+        room.setCapacity(capacity);
+        room.setPricePerNight(new BigDecimal(pricePerNight));
+        return room;
+    }
+
+    public static ReservationRequestDTO reservation(String roomId, LocalDate checkin, LocalDate checkout) {
+        ReservationRequestDTO reservation = new ReservationRequestDTO();
+        reservation.setRoomId(roomId);
+        reservation.setGuestName("Test Guest");
+        reservation.setCheckinExpected(checkin);
+        reservation.setCheckoutExpected(checkout);
+        return reservation;
+    }
+}
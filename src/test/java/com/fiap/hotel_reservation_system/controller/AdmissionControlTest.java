@@ -0,0 +1,93 @@
+package com.fiap.hotel_reservation_system.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Collections;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "hotel.rate-limit.bookings.per-second=0.01",
+        "hotel.rate-limit.bookings.burst=3",
+        "hotel.rate-limit.max-clients-per-address=2"
+})
+@AutoConfigureMockMvc
+class AdmissionControlTest {
+
+    private static final String UNKNOWN_ROOM_BOOKING =
+            "{\"roomId\":\"00000000-0000-0000-0000-000000000000\",\"guestName\":\"Flooding Partner\"," +
+                    "\"checkinExpected\":\"2040-01-01\",\"checkoutExpected\":\"2040-01-03\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void bookingsOverTheClientsBucketAreRejectedWith429() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            book("10.0.0.1", "partner-a").andExpect(status().isNotFound());
+        }
+        book("10.0.0.1", "partner-a")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        // Other clients have buckets of their own.
+        book("10.0.0.1", "partner-b").andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rotatingTheClientIdDoesNotEscapeTheAddressBucket() throws Exception {
+        // The first two ids get buckets of their own, every later one shares the address's bucket.
+        for (int i = 0; i < 5; i++) {
+            book("10.0.0.2", "rotating-" + i).andExpect(status().isNotFound());
+        }
+        book("10.0.0.2", "rotating-5").andExpect(status().isTooManyRequests());
+        book("10.0.0.2", null).andExpect(status().isTooManyRequests());
+
+        book("10.0.0.3", "rotating-5").andExpect(status().isNotFound());
+    }
+
+    @Test
+    void batchesAreChargedOneTokenPerBooking() throws Exception {
+        // Five bookings empty the three-token bucket and leave it two tokens in debt.
+        batch("10.0.0.4", 5).andExpect(status().isOk());
+        book("10.0.0.4", null).andExpect(status().isTooManyRequests());
+
+        batch("10.0.0.5", 2).andExpect(status().isOk());
+        batch("10.0.0.5", 2).andExpect(status().isTooManyRequests());
+    }
+
+    private ResultActions batch(String address, int bookings) throws Exception {
+        return mockMvc.perform(post("/api/reservations/batch")
+                .with(mockRequest -> {
+                    mockRequest.setRemoteAddr(address);
+                    return mockRequest;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.join(",", Collections.nCopies(bookings, UNKNOWN_ROOM_BOOKING)) + "]"));
+    }
+
+    private ResultActions book(String address, String client) throws Exception {
+        MockHttpServletRequestBuilder request = post("/api/reservations")
+                .with(mockRequest -> {
+                    mockRequest.setRemoteAddr(address);
+                    return mockRequest;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(UNKNOWN_ROOM_BOOKING);
+        if (client != null) {
+            request.header("X-Client-Id", client);
+        }
+        return mockMvc.perform(request);
+    }
+}
@@ -0,0 +1,87 @@
+package com.fiap.hotel_reservation_system.controller;
+
+import com.fiap.hotel_reservation_system.service.ReservationService;
+import com.fiap.hotel_reservation_system.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.reservation;
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Test
+    void roomReadsAnswer304UntilTheRoomChanges() throws Exception {
+        String roomId = roomService.create(room(9701)).getId();
+
+        String roomTag = etag("/api/rooms/" + roomId);
+        String catalogTag = etag("/api/rooms");
+        notModified("/api/rooms/" + roomId, roomTag);
+        notModified("/api/rooms", catalogTag);
+
+        roomService.deactivate(roomId);
+
+        assertNotEquals(roomTag, modified("/api/rooms/" + roomId, roomTag));
+        assertNotEquals(catalogTag, modified("/api/rooms", catalogTag));
+    }
+
+    @Test
+    void reservationReadAnswers304UntilTheReservationChanges() throws Exception {
+        String roomId = roomService.create(room(9702)).getId();
+        LocalDate checkin = LocalDate.now().plusYears(8);
+        String reservationId = reservationService.create(reservation(roomId, checkin, checkin.plusDays(2))).getId();
+
+        String tag = etag("/api/reservations/" + reservationId);
+        notModified("/api/reservations/" + reservationId, tag);
+
+        reservationService.cancel(reservationId);
+
+        String canceledTag = modified("/api/reservations/" + reservationId, tag);
+        assertNotEquals(tag, canceledTag);
+        notModified("/api/reservations/" + reservationId, canceledTag);
+    }
+
+    private String etag(String path) throws Exception {
+        String tag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+        return tag;
+    }
+
+    private void notModified(String path, String tag) throws Exception {
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, tag))
+                .andExpect(content().string(""));
+    }
+
+    private String modified(String path, String tag) throws Exception {
+        return mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, tag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,73 @@
+package com.fiap.hotel_reservation_system.controller;
+
+import com.fiap.hotel_reservation_system.service.ReservationService;
+import com.fiap.hotel_reservation_system.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.reservation;
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Test
+    void prometheusScrapeExposesTheReservationMetrics() throws Exception {
+        String roomId = roomService.create(room(9961)).getId();
+        LocalDate checkin = LocalDate.now();
+        String stayed = reservationService.create(reservation(roomId, checkin, checkin.plusDays(2))).getId();
+        reservationService.checkIn(stayed);
+        reservationService.checkOut(stayed);
+        LocalDate later = checkin.plusYears(9);
+        reservationService.create(reservation(roomId, later, later.plusDays(2)));
+        String canceled = reservationService.create(reservation(roomId, later.plusDays(5), later.plusDays(6))).getId();
+        reservationService.cancel(canceled);
+
+        mockMvc.perform(post("/api/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"roomId\":\"" + roomId + "\",\"guestName\":\"Late Guest\",\"checkinExpected\":\""
+                                + later + "\",\"checkoutExpected\":\"" + later.plusDays(1) + "\"}"))
+                .andExpect(status().isConflict());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        for (String operation : new String[] {"create", "checkIn", "checkOut", "cancel"}) {
+            assertContains(scrape, "hotel_reservations_operation_seconds_count{", "operation=\"" + operation + "\"");
+        }
+        assertContains(scrape, "hotel_exceptions_total{", "type=\"ConflictException\"");
+        for (String status : new String[] {"CREATED", "CHECKED_IN", "CHECKED_OUT", "CANCELED", "NO_SHOW"}) {
+            assertContains(scrape, "hotel_reservations_by_status{", "status=\"" + status + "\"");
+        }
+        assertContains(scrape, "hikaricp_connections{", "pool=");
+    }
+
+    // A sample line of the metric carrying the label, whatever the other labels are.
+    private static void assertContains(String scrape, String metric, String label) {
+        assertTrue(scrape.lines().anyMatch(line -> line.startsWith(metric) && line.contains(label)),
+                "No " + metric + label + "} sample in the scrape");
+    }
+}
@@ -0,0 +1,135 @@
+package com.fiap.hotel_reservation_system.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.hotel_reservation_system.service.ReservationCursor;
+import com.fiap.hotel_reservation_system.service.ReservationService;
+import com.fiap.hotel_reservation_system.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.reservation;
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+class ReservationPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void pagesSplitReservationsCreatedAtTheSameInstant() throws Exception {
+        String roomId = roomService.create(room(9971)).getId();
+        LocalDate checkin = LocalDate.now().plusYears(10);
+        LocalDateTime createdAt = LocalDateTime.of(1999, 1, 1, 0, 0);
+        Set<String> created = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            String id = reservationService.create(reservation(roomId, checkin.plusDays(i * 3L),
+                    checkin.plusDays(i * 3L + 1))).getId();
+            jdbcTemplate.update("UPDATE reservations SET created_at = ? WHERE id = ?", Timestamp.valueOf(createdAt),
+                    UUID.fromString(id));
+            created.add(id);
+        }
+
+        // Start right before the shared instant, so nothing other tests stored gets in between.
+        String cursor = new ReservationCursor(createdAt.minusSeconds(1), new UUID(0, 0)).encode();
+        List<String> walked = new ArrayList<>();
+        while (walked.size() < 5) {
+            MockHttpServletResponse response = mockMvc.perform(get("/api/reservations")
+                            .param("limit", "2")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            JsonNode reservations = objectMapper.readTree(response.getContentAsString());
+            reservations.forEach(reservation -> walked.add(reservation.get("id").asText()));
+            if (walked.size() < 5) {
+                assertEquals(2, reservations.size());
+                cursor = response.getHeader("X-Next-Cursor");
+                assertNotNull(cursor);
+            }
+        }
+
+        // Five reservations share created_at, so only the id orders them across the page boundaries.
+        assertEquals(created, new HashSet<>(walked.subList(0, 5)));
+        assertEquals(walked.size(), new HashSet<>(walked).size());
+    }
+
+    @Test
+    void invalidCursorIsRejectedWith400() throws Exception {
+        String withoutSeparator = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2030-01-01T00:00".getBytes(StandardCharsets.UTF_8));
+        String badDate = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("yesterday|" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        for (String cursor : new String[] {"not a cursor!", withoutSeparator, badDate}) {
+            mockMvc.perform(get("/api/reservations").param("cursor", cursor)).andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void limitMustBeBetweenOneAndTheMaximum() throws Exception {
+        mockMvc.perform(get("/api/reservations").param("limit", "0")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/reservations").param("limit", "501")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/reservations").param("limit", "1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/reservations").param("limit", "500")).andExpect(status().isOk());
+    }
+
+    @Test
+    void exportWritesOneReservationPerLine() throws Exception {
+        String roomId = roomService.create(room(9972)).getId();
+        LocalDate checkin = LocalDate.now().plusYears(10);
+        String id = reservationService.create(reservation(roomId, checkin, checkin.plusDays(2))).getId();
+
+        MvcResult started = mockMvc.perform(get("/api/reservations/export").param("status", "CREATED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.endsWith("\n"));
+        List<String> lines = body.lines().toList();
+        for (String line : lines) {
+            JsonNode reservation = objectMapper.readTree(line);
+            assertTrue(reservation.isObject(), line);
+            assertEquals("CREATED", reservation.get("status").asText());
+        }
+        assertEquals(1, lines.stream().filter(line -> line.contains(id)).count());
+    }
+}
@@ -0,0 +1,63 @@
+package com.fiap.hotel_reservation_system.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@JsonTest
+class ResponseJsonSerializersTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Bean serialization, as used before the hand-written serializers were registered.
+    private final ObjectMapper beanMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void serializersAreRegistered() throws Exception {
+        assertInstanceOf(ResponseJsonSerializers.ReservationSerializer.class,
+                objectMapper.getSerializerProviderInstance().findValueSerializer(ReservationResponseDTO.class));
+        assertInstanceOf(ResponseJsonSerializers.RoomSerializer.class,
+                objectMapper.getSerializerProviderInstance().findValueSerializer(RoomResponseDTO.class));
+    }
+
+    @Test
+    void writesTheSameJsonAsBeanSerialization() throws Exception {
+        List<ReservationResponseDTO> reservations = List.of(
+                reservation(LocalDateTime.of(2029, 12, 1, 10, 15, 30, 123_456_000), new BigDecimal("700.00")),
+                reservation(LocalDateTime.of(2030, 1, 3, 11, 0), null),
+                reservation(LocalDateTime.of(2030, 1, 3, 0, 0, 5, 7), new BigDecimal("1E+3")),
+                reservation(LocalDateTime.of(12030, 2, 28, 23, 59, 59, 100_000_000), BigDecimal.ZERO),
+                new ReservationResponseDTO());
+
+        assertEquals(beanMapper.writeValueAsString(reservations), objectMapper.writeValueAsString(reservations));
+        assertEquals(beanMapper.writeValueAsString(reservations.get(0).getRoom()),
+                objectMapper.writeValueAsString(reservations.get(0).getRoom()));
+        assertEquals(beanMapper.writeValueAsString(new RoomResponseDTO()),
+                objectMapper.writeValueAsString(new RoomResponseDTO()));
+    }
+
+    private static ReservationResponseDTO reservation(LocalDateTime createdAt, BigDecimal totalAmount) {
+        return new ReservationResponseDTO(UUID.randomUUID(), UUID.randomUUID(), 101, RoomType.SUITE, 4,
+                new BigDecimal("350.50"), RoomStatus.ACTIVE, "Guest \"Quoted\" Ñame", LocalDate.of(2030, 1, 1),
+                createdAt.toLocalDate().plusDays(2), ReservationStatus.CHECKED_OUT, totalAmount, createdAt,
+                createdAt.plusSeconds(1));
+    }
+}
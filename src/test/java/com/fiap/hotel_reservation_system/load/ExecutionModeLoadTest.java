@@ -0,0 +1,147 @@
+package com.fiap.hotel_reservation_system.load;
+
+import com.fiap.hotel_reservation_system.HotelReservationSystemApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares throughput and p99 latency of platform and virtual request threads with 1,000 concurrent
+ * clients. Excluded from the default build; run with {@code mvn -Pload test}.
+ */
+@Tag("load")
+class ExecutionModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeLoadTest.class);
+
+    private static final int CLIENTS = 1_000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final String[] ROOM_IDS = {
+            "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa",
+            "bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb",
+            "cccccccc-cccc-cccc-cccc-cccccccccccc",
+            "dddddddd-dddd-dddd-dddd-dddddddddddd",
+            "eeeeeeee-eeee-eeee-eeee-eeeeeeeeeeee"
+    };
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.debug("Platform threads: {}", platform);
+        log.debug("Virtual threads: {}", virtual);
+
+        assertEquals(0, platform.errors);
+        assertEquals(0, virtual.errors);
+        // Virtual threads must cost neither throughput nor tail latency under this many concurrent clients;
+        // 20% covers run-to-run noise.
+        assertTrue(virtual.throughput >= platform.throughput * 0.8,
+                "virtual threads " + virtual + " fell behind platform threads " + platform);
+        assertTrue(virtual.p99Millis <= platform.p99Millis * 1.2,
+                "virtual threads " + virtual + " have a worse p99 than platform threads " + platform);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        // Passed as arguments rather than default properties, which application.properties would override.
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HotelReservationSystemApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID(),
+                        "--spring.jpa.show-sql=false",
+                        "--hotel.admission.enabled=false",
+                        "--logging.level.root=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            return drive("http://localhost:" + port);
+        }
+    }
+
+    private Result drive(String baseUrl) throws Exception {
+        LocalDate checkin = LocalDate.now().plusYears(1);
+        AtomicInteger errors = new AtomicInteger();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .build()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                futures.add(clients.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        HttpRequest request = nextRequest(baseUrl, client, i, checkin);
+                        long begin = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[client * REQUESTS_PER_CLIENT + i] = System.nanoTime() - begin;
+                        if (response.statusCode() >= 500) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+            Arrays.sort(latencies);
+            return new Result(latencies.length / seconds,
+                    latencies[latencies.length * 99 / 100] / 1_000_000.0,
+                    errors.get());
+        }
+    }
+
+    private HttpRequest nextRequest(String baseUrl, int client, int iteration, LocalDate checkin) {
+        LocalDate from = checkin.plusDays(ThreadLocalRandom.current().nextInt(365));
+        if (iteration % 4 == 0) {
+            String body = String.format(
+                    "{\"roomId\":\"%s\",\"guestName\":\"Client %d\",\"checkinExpected\":\"%s\",\"checkoutExpected\":\"%s\"}",
+                    ROOM_IDS[client % ROOM_IDS.length], client, from, from.plusDays(2));
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/reservations"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+        if (iteration % 4 == 1) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/reservations?limit=20")).GET().build();
+        }
+        return HttpRequest.newBuilder(URI.create(
+                baseUrl + "/api/rooms/available?checkin=" + from + "&checkout=" + from.plusDays(3))).GET().build();
+    }
+
+    private record Result(double throughput, double p99Millis, int errors) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.fiap.hotel_reservation_system.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    void generatesVersion7IdsCarryingTheCurrentMillisecond() {
+        Instant now = Instant.parse("2030-01-01T10:15:30.123Z");
+        UUID id = new TimeOrderedUuidGenerator(Clock.fixed(now, ZoneOffset.UTC)).nextId();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(now.toEpochMilli(), id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void staysStrictlyIncreasingWhenTheClockStallsOrStepsBack() {
+        AtomicLong millis = new AtomicLong(1_900_000_000_000L);
+        Clock clock = new Clock() {
+            @Override
+            public long millis() { return millis.get(); }
+            @Override
+            public Instant instant() { return Instant.ofEpochMilli(millis()); }
+            @Override
+            public ZoneId getZone() { return ZoneOffset.UTC; }
+            @Override
+            public Clock withZone(ZoneId zone) { return this; }
+        };
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(clock);
+
+        UUID previous = generator.nextId();
+        // More ids than the 12-bit sequence holds in one millisecond, then a clock step back.
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                millis.addAndGet(-1_000);
+            }
+            UUID current = generator.nextId();
+            assertTrue(current.getMostSignificantBits() > previous.getMostSignificantBits());
+            previous = current;
+        }
+    }
+
+    @Test
+    void idsFromConcurrentThreadsAreUniqueAndOrderedPerThread() throws Exception {
+        TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+        int threads = 8;
+        int idsPerThread = 50_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<UUID>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                List<UUID> ids = new ArrayList<>(idsPerThread);
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids.add(generator.nextId());
+                }
+                return ids;
+            }));
+        }
+
+        Set<Long> timestamps = new HashSet<>();
+        for (Future<List<UUID>> future : futures) {
+            List<UUID> ids = future.get();
+            for (int i = 0; i < ids.size(); i++) {
+                long mostSigBits = ids.get(i).getMostSignificantBits();
+                assertTrue(timestamps.add(mostSigBits), "Duplicate timestamp/sequence " + ids.get(i));
+                if (i > 0) {
+                    assertTrue(mostSigBits > ids.get(i - 1).getMostSignificantBits());
+                }
+            }
+        }
+        executor.shutdown();
+        assertEquals(threads * idsPerThread, timestamps.size());
+    }
+}
@@ -0,0 +1,63 @@
+package com.fiap.hotel_reservation_system.repository;
+
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.service.ReservationService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReservationRepositoryProjectionTest {
+
+    private static final String[] ROOM_IDS = {
+            "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa",
+            "bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb",
+            "cccccccc-cccc-cccc-cccc-cccccccccccc",
+            "dddddddd-dddd-dddd-dddd-dddddddddddd",
+            "eeeeeeee-eeee-eeee-eeee-eeeeeeeeeeee"
+    };
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void listingReservationsIssuesASingleStatementPerTable() {
+        LocalDate base = LocalDate.now().plusYears(8);
+        List<ReservationRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ReservationRequestDTO dto = new ReservationRequestDTO();
+            dto.setRoomId(ROOM_IDS[i % ROOM_IDS.length]);
+            dto.setGuestName("Projection Guest " + i);
+            dto.setCheckinExpected(base.plusDays(i * 10L));
+            dto.setCheckoutExpected(base.plusDays(i * 10L + 2));
+            requests.add(dto);
+        }
+        reservationService.createAll(requests);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ReservationResponseDTO> reservations = reservationService.findAll();
+
+        assertTrue(reservations.size() >= requests.size());
+        reservations.forEach(reservation -> assertNotNull(reservation.getRoom().getNumber()));
+        // One for reservations and one for reservations_archive.
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
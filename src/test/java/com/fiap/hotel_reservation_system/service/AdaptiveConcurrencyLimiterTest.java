@@ -0,0 +1,45 @@
+package com.fiap.hotel_reservation_system.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void queuedRequestTakesTheReleasedSlotAndSlowRequestsShrinkTheLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(2, 1, 8, 0.5, Duration.ofMillis(100), Duration.ofSeconds(5), 1);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> queued = executor.submit(limiter::tryAcquire);
+            while (limiter.getQueueDepth() == 0) {
+                Thread.onSpinWait();
+            }
+            assertFalse(limiter.tryAcquire(), "The queue is full, so this request must not wait");
+            assertEquals(1, limiter.getRejectionCount());
+
+            limiter.release(Duration.ofMillis(10).toNanos(), false);
+            assertTrue(queued.get());
+            assertEquals(2, limiter.getInFlight());
+        } finally {
+            executor.shutdown();
+        }
+
+        limiter.release(Duration.ofSeconds(1).toNanos(), false);
+        assertEquals(1, limiter.getLimit());
+        limiter.release(Duration.ofMillis(10).toNanos(), true);
+        assertEquals(1, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -0,0 +1,93 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.ReservationPageDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.reservation;
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "hotel.sweeper.enabled=false"})
+class ArchivedReservationReadTest {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void archivedReservationsAreStillReadable() throws Exception {
+        String roomId = roomService.create(room(9921)).getId();
+        LocalDate checkin = LocalDate.now().plusYears(9);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            LocalDate stay = checkin.plusDays(i * 2L);
+            ids.add(reservationService.create(reservation(roomId, stay, stay.plusDays(1))).getId());
+        }
+        reservationService.cancel(ids.get(0));
+        reservationService.cancel(ids.get(2));
+        String archivedId = ids.get(0);
+        String otherArchivedId = ids.get(2);
+        archive(archivedId, otherArchivedId);
+        assertFalse(reservationRepository.existsById(UUID.fromString(archivedId)));
+
+        ReservationResponseDTO found = reservationService.findById(archivedId);
+        assertEquals("CANCELED", found.getStatus());
+        assertEquals(Integer.valueOf(9921), found.getRoom().getNumber());
+        assertTrue(reservationService.findVersionTag(archivedId).isPresent());
+
+        assertTrue(reservationService.findAll().stream().anyMatch(r -> r.getId().equals(archivedId)));
+        assertTrue(reservationService.findByStatus("CANCELED").stream().anyMatch(r -> r.getId().equals(archivedId)));
+        assertFalse(reservationService.findByStatus("CREATED").stream().anyMatch(r -> r.getId().equals(archivedId)));
+
+        // Walking the pages returns every reservation once, in keyset order across both tables.
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            ReservationPageDTO page = reservationService.findPage(null, cursor, 2);
+            page.getItems().forEach(r -> paged.add(r.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(paged.size(), paged.stream().distinct().count());
+        assertTrue(paged.containsAll(ids));
+        assertEquals(ids, paged.stream().filter(ids::contains).toList());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reservationService.exportTo("CANCELED", out);
+        String exported = out.toString(StandardCharsets.UTF_8);
+        assertTrue(exported.contains(archivedId));
+        assertTrue(exported.contains(otherArchivedId));
+        assertFalse(exported.contains(ids.get(1)));
+    }
+
+    private void archive(String... ids) {
+        List<UUID> uuids = Arrays.stream(ids).map(UUID::fromString).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            reservationRepository.copyToArchive(uuids, LocalDateTime.now());
+            reservationRepository.deleteAllByIdIn(uuids);
+        });
+    }
+}
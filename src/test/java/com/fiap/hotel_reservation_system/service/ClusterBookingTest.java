@@ -0,0 +1,183 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.HotelReservationSystemApplication;
+import com.fiap.hotel_reservation_system.dto.ReservationBatchResponseDTO;
+import com.fiap.hotel_reservation_system.dto.RoomInventoryDTO;
+import com.fiap.hotel_reservation_system.exception.ConflictException;
+import com.fiap.hotel_reservation_system.model.Reservation;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.reservation;
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Several application contexts, each standing in for a node with its own room locks, availability
+ * index and connection pool, booking the same rooms through one file-based database.
+ */
+class ClusterBookingTest {
+
+    private static final int NODES = 3;
+    private static final int THREADS_PER_NODE = 4;
+    private static final int ROOMS = 3;
+    private static final int STAYS = 12;
+
+    @TempDir
+    Path databaseDirectory;
+
+    @Test
+    void nodesBookingTheSameRoomsNeverDoubleBook() throws Exception {
+        List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(NODES * THREADS_PER_NODE);
+        try {
+            for (int i = 0; i < NODES; i++) {
+                nodes.add(start("node-" + i));
+            }
+            List<String> roomIds = createRooms(nodes.get(0).getBean(RoomService.class));
+            LocalDate base = LocalDate.now().plusYears(7);
+
+            AtomicInteger created = new AtomicInteger();
+            AtomicInteger conflicts = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < NODES * THREADS_PER_NODE; t++) {
+                ReservationService reservationService = nodes.get(t % NODES).getBean(ReservationService.class);
+                boolean batches = t % 4 == 3;
+                List<Integer> stays = new ArrayList<>();
+                for (int k = 0; k < STAYS; k++) {
+                    stays.add(k);
+                }
+                Collections.shuffle(stays);
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int k : stays) {
+                        // Every worker asks for the same overlapping two-night stays, one night apart.
+                        LocalDate checkin = base.plusDays(k);
+                        if (batches) {
+                            ReservationBatchResponseDTO batch = reservationService.createAll(roomIds.stream()
+                                    .map(roomId -> reservation(roomId, checkin, checkin.plusDays(2)))
+                                    .toList());
+                            created.addAndGet(batch.getCreated());
+                            conflicts.addAndGet(batch.getRejected());
+                            continue;
+                        }
+                        for (String roomId : roomIds) {
+                            try {
+                                reservationService.create(reservation(roomId, checkin, checkin.plusDays(2)));
+                                created.incrementAndGet();
+                            } catch (ConflictException e) {
+                                conflicts.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+
+            Map<UUID, List<Reservation>> stored = nodes.get(0).getBean(ReservationRepository.class)
+                    .findByStatusIn(ReservationStatus.ACTIVE_STATUSES).stream()
+                    .filter(reservation -> roomIds.contains(reservation.getRoom().getId().toString()))
+                    .collect(Collectors.groupingBy(reservation -> reservation.getRoom().getId()));
+
+            assertEquals(created.get(), stored.values().stream().mapToInt(List::size).sum());
+            assertEquals(NODES * THREADS_PER_NODE * STAYS * ROOMS, created.get() + conflicts.get());
+            assertEquals(ROOMS, stored.size());
+            for (List<Reservation> reservations : stored.values()) {
+                reservations.sort(Comparator.comparing(Reservation::getCheckinExpected));
+                for (int i = 1; i < reservations.size(); i++) {
+                    Reservation previous = reservations.get(i - 1);
+                    Reservation next = reservations.get(i);
+                    assertTrue(previous.getCheckoutExpected().isBefore(next.getCheckinExpected()),
+                            "Double booking: " + previous.getId() + " and " + next.getId());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            nodes.forEach(ConfigurableApplicationContext::close);
+        }
+    }
+
+    @Test
+    void searchInventoryAndReportsSeeBookingsMadeOnAnotherNode() {
+        List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+        try {
+            nodes.add(start("node-a"));
+            String roomId = nodes.get(0).getBean(RoomService.class).create(room(9941, "SUITE", 4, "300.00")).getId();
+            nodes.add(start("node-b"));
+            ConfigurableApplicationContext other = nodes.get(1);
+            RoomService otherRooms = other.getBean(RoomService.class);
+            ReportService otherReports = other.getBean(ReportService.class);
+            LocalDate checkin = LocalDate.now().plusDays(30);
+
+            // Read once on the other node before the booking, so nothing can be answered from a first load.
+            assertTrue(isAvailable(otherRooms, roomId, checkin));
+            assertEquals("111", inventoryOf(other, roomId, checkin));
+            long nightsSold = otherReports.occupancy(checkin, checkin, "SUITE").get(0).getNightsSold();
+
+            nodes.get(0).getBean(ReservationService.class).create(reservation(roomId, checkin, checkin.plusDays(2)));
+
+            assertFalse(isAvailable(otherRooms, roomId, checkin));
+            assertEquals("000", inventoryOf(other, roomId, checkin));
+            assertEquals(nightsSold + 1, otherReports.occupancy(checkin, checkin, "SUITE").get(0).getNightsSold());
+        } finally {
+            nodes.forEach(ConfigurableApplicationContext::close);
+        }
+    }
+
+    private static boolean isAvailable(RoomService roomService, String roomId, LocalDate checkin) {
+        return roomService.findAvailable(checkin, checkin.plusDays(1), "SUITE", 1).stream()
+                .anyMatch(room -> room.getId().equals(roomId));
+    }
+
+    private static String inventoryOf(ConfigurableApplicationContext node, String roomId, LocalDate from) {
+        return node.getBean(InventoryService.class).findInventory(from, from.plusDays(2), "SUITE").getRooms().stream()
+                .filter(room -> room.getRoomId().equals(roomId))
+                .map(RoomInventoryDTO::getFree)
+                .findFirst().orElseThrow();
+    }
+
+    private ConfigurableApplicationContext start(String nodeId) {
+        return new SpringApplicationBuilder(HotelReservationSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:file:" + databaseDirectory.resolve("hotel"),
+                        "--spring.jpa.show-sql=false",
+                        "--hotel.node-id=" + nodeId,
+                        "--hotel.sweeper.enabled=false",
+                        "--hotel.booking.cluster.enabled=true");
+    }
+
+    private static List<String> createRooms(RoomService roomService) {
+        List<String> roomIds = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            roomIds.add(roomService.create(room(9931 + i)).getId());
+        }
+        return roomIds;
+    }
+}
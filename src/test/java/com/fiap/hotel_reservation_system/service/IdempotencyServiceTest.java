@@ -0,0 +1,154 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.exception.BusinessException;
+import com.fiap.hotel_reservation_system.model.IdempotencyKey;
+import com.fiap.hotel_reservation_system.repository.IdempotencyKeyRepository;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.reservation;
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    private String roomId;
+
+    @BeforeAll
+    void createRoom() {
+        roomId = roomService.create(room(9501)).getId();
+    }
+
+    @Test
+    void retryWithSameKeyReturnsOriginalReservation() {
+        String key = UUID.randomUUID().toString();
+        LocalDate checkin = LocalDate.now().plusYears(4);
+        ReservationRequestDTO dto = reservation(roomId, checkin, checkin.plusDays(2));
+
+        IdempotencyService.Result first = idempotencyService.create(key, dto);
+        long reservations = reservationRepository.count();
+        IdempotencyService.Result retry = idempotencyService.create(key, dto);
+
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.reservation().getId(), retry.reservation().getId());
+        assertEquals(reservations, reservationRepository.count());
+        assertTrue(idempotencyKeyRepository.existsById(key));
+    }
+
+    @Test
+    void keyIsReadBackFromTheTableWhenNotCached() {
+        String key = UUID.randomUUID().toString();
+        LocalDate checkin = LocalDate.now().plusYears(4).plusMonths(1);
+        ReservationRequestDTO dto = reservation(roomId, checkin, checkin.plusDays(2));
+        IdempotencyService.Result first = idempotencyService.create(key, dto);
+
+        // A second instance has an empty cache, as after a restart or on another node.
+        IdempotencyService otherInstance = new IdempotencyService(Duration.ofHours(1), 10);
+        beanFactory.autowireBean(otherInstance);
+        IdempotencyService.Result retry = otherInstance.create(key, dto);
+
+        assertTrue(retry.replayed());
+        assertEquals(first.reservation().getId(), retry.reservation().getId());
+        assertEquals(first.reservation().getCheckinExpected(), retry.reservation().getCheckinExpected());
+        assertEquals(1, otherInstance.getStoreHitCount());
+    }
+
+    @Test
+    void responseReadBackFromTheTableExpiresWithTheRow() throws Exception {
+        String key = UUID.randomUUID().toString();
+        LocalDate checkin = LocalDate.now().plusYears(4).plusMonths(4);
+        IdempotencyService.Result first = idempotencyService.create(key, reservation(roomId, checkin, checkin.plusDays(2)));
+        IdempotencyKey row = idempotencyKeyRepository.findById(key).orElseThrow();
+        row.setExpiresAt(LocalDateTime.now().plusSeconds(1));
+        idempotencyKeyRepository.save(row);
+
+        IdempotencyService otherInstance = new IdempotencyService(Duration.ofHours(1), 10);
+        beanFactory.autowireBean(otherInstance);
+        assertTrue(otherInstance.create(key, reservation(roomId, checkin, checkin.plusDays(2))).replayed());
+        Thread.sleep(1500);
+
+        // Cached with the row's expiry rather than a fresh hour, so the key can be used again.
+        IdempotencyService.Result reused = otherInstance.create(key, reservation(roomId, checkin.plusDays(10), checkin.plusDays(12)));
+        assertFalse(reused.replayed());
+        assertNotEquals(first.reservation().getId(), reused.reservation().getId());
+    }
+
+    @Test
+    void sameKeyWithDifferentRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+        LocalDate checkin = LocalDate.now().plusYears(4).plusMonths(2);
+        idempotencyService.create(key, reservation(roomId, checkin, checkin.plusDays(2)));
+
+        assertThrows(BusinessException.class, () -> idempotencyService.create(key, reservation(roomId, checkin.plusDays(10), checkin.plusDays(12))));
+    }
+
+    @Test
+    void concurrentRetriesCreateOneReservation() throws Exception {
+        int threads = 16;
+        String key = UUID.randomUUID().toString();
+        LocalDate checkin = LocalDate.now().plusYears(4).plusMonths(3);
+        ReservationRequestDTO dto = reservation(roomId, checkin, checkin.plusDays(2));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<IdempotencyService.Result>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return idempotencyService.create(key, dto);
+            }));
+        }
+        start.countDown();
+
+        List<IdempotencyService.Result> responses = new ArrayList<>();
+        for (Future<IdempotencyService.Result> result : results) {
+            responses.add(result.get());
+        }
+        executor.shutdown();
+
+        Set<String> ids = responses.stream().map(result -> result.reservation().getId()).collect(Collectors.toSet());
+        assertEquals(1, ids.size());
+        assertEquals(1, responses.stream().filter(result -> !result.replayed()).count());
+    }
+}
@@ -0,0 +1,108 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.InventoryDTO;
+import com.fiap.hotel_reservation_system.dto.RoomInventoryDTO;
+import com.fiap.hotel_reservation_system.exception.BusinessException;
+import com.fiap.hotel_reservation_system.exception.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.reservation;
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class InventoryServiceTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Test
+    void calendarFollowsBookingsAndCancellationsAcrossWordBoundaries() {
+        String first = roomService.create(room(9901, "SUITE", 4, "410.00")).getId();
+        String second = roomService.create(room(9902, "SUITE", 4, "410.00")).getId();
+        LocalDate from = LocalDate.now().plusDays(1);
+        LocalDate to = from.plusDays(129);
+
+        // Nights 59..69 of the query window straddle the first 64-night word.
+        reservationService.create(reservation(first, from.plusDays(59), from.plusDays(69)));
+        String canceled = reservationService.create(reservation(second, from.plusDays(62), from.plusDays(64))).getId();
+        reservationService.create(reservation(second, from.plusDays(100), from.plusDays(101)));
+        reservationService.cancel(canceled);
+
+        InventoryDTO inventory = inventoryService.findInventory(from, to, null);
+        String firstFree = freeOf(inventory, first);
+        String secondFree = freeOf(inventory, second);
+        assertEquals(expected(130, 59, 70), firstFree);
+        assertEquals(expected(130, 100, 102), secondFree);
+
+        InventoryDTO suites = inventoryService.findInventory(from, to, "SUITE");
+        String anyFree = suites.getAnyFree();
+        String allFree = suites.getAllFree();
+        assertEquals('1', anyFree.charAt(60));
+        assertEquals('0', allFree.charAt(60));
+        for (int night = 0; night < 130; night++) {
+            int n = night;
+            assertEquals(suites.getRooms().stream().filter(room -> room.getFree().charAt(n) == '1').count(),
+                    suites.getFreeRooms()[night]);
+        }
+
+        inventoryService.rebuild();
+        InventoryDTO rebuilt = inventoryService.findInventory(from, to, "SUITE");
+        assertEquals(firstFree, freeOf(rebuilt, first));
+        assertEquals(secondFree, freeOf(rebuilt, second));
+        assertEquals(anyFree, rebuilt.getAnyFree());
+        assertEquals(allFree, rebuilt.getAllFree());
+    }
+
+    @Test
+    void stayEndingOnTheQueriedDayKeepsTheRoomBooked() {
+        String roomId = roomService.create(room(9903, "SUITE", 4, "410.00")).getId();
+        LocalDate day = LocalDate.now().plusDays(200);
+        reservationService.create(reservation(roomId, day.minusDays(3), day));
+
+        assertEquals("0", freeOf(inventoryService.findInventory(day, day, "SUITE"), roomId));
+        assertEquals("1", freeOf(inventoryService.findInventory(day.plusDays(1), day.plusDays(1), "SUITE"), roomId));
+        // The calendar agrees with the booking check.
+        assertThrows(ConflictException.class,
+                () -> reservationService.create(reservation(roomId, day, day.plusDays(1))));
+        reservationService.create(reservation(roomId, day.plusDays(1), day.plusDays(2)));
+    }
+
+    @Test
+    void rejectsRangesOutsideTheHorizonAndUnknownTypes() {
+        LocalDate today = LocalDate.now();
+        assertThrows(BusinessException.class, () -> inventoryService.findInventory(today, today.minusDays(1), null));
+        assertThrows(BusinessException.class, () -> inventoryService.findInventory(today.minusDays(1), today, null));
+        assertThrows(BusinessException.class, () -> inventoryService.findInventory(today, today.plusDays(540), null));
+        BusinessException error = assertThrows(BusinessException.class,
+                () -> inventoryService.findInventory(today, today, "PRESIDENTIAL"));
+        assertEquals("Invalid room type: PRESIDENTIAL", error.getMessage());
+        assertEquals(540, inventoryService.findInventory(today, today.plusDays(539), null).getFreeRooms().length);
+    }
+
+    private static String expected(int nights, int firstBooked, int endBooked) {
+        StringBuilder free = new StringBuilder();
+        for (int night = 0; night < nights; night++) {
+            free.append(night >= firstBooked && night < endBooked ? '0' : '1');
+        }
+        return free.toString();
+    }
+
+    private static String freeOf(InventoryDTO inventory, String roomId) {
+        return inventory.getRooms().stream()
+                .filter(room -> room.getRoomId().equals(roomId))
+                .map(RoomInventoryDTO::getFree)
+                .findFirst().orElseThrow();
+    }
+}
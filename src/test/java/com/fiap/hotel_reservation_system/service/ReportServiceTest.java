@@ -0,0 +1,99 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.OccupancyReportDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.dto.RevenueReportDTO;
+import com.fiap.hotel_reservation_system.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.reservation;
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ReportServiceTest {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Test
+    void totalsFollowBookingsCancellationsAndCheckOutsAndMatchARebuild() {
+        String roomId = roomService.create(room(9601, "SUITE", 4, "333.33")).getId();
+        LocalDate today = LocalDate.now();
+        LocalDate future = today.plusYears(7);
+
+        List<OccupancyReportDTO> occupancyBefore = reportService.occupancy(today, today.plusDays(2), "SUITE");
+        List<RevenueReportDTO> revenueBefore = reportService.revenue(today, today.plusDays(2), "SUITE");
+
+        ReservationResponseDTO stay = reservationService.create(reservation(roomId, today, today.plusDays(3)));
+        ReservationResponseDTO canceled = reservationService.create(reservation(roomId, future, future.plusDays(2)));
+        reservationService.cancel(canceled.getId());
+        reservationService.checkIn(stay.getId());
+        reservationService.checkOut(stay.getId());
+
+        List<OccupancyReportDTO> occupancy = reportService.occupancy(today, today.plusDays(2), "SUITE");
+        List<RevenueReportDTO> revenue = reportService.revenue(today, today.plusDays(2), "SUITE");
+        BigDecimal total = BigDecimal.ZERO;
+        for (int day = 0; day < 3; day++) {
+            assertEquals(occupancyBefore.get(day).getNightsSold() + 1, occupancy.get(day).getNightsSold());
+            assertEquals(revenueBefore.get(day).getNightsCheckedOut() + 1, revenue.get(day).getNightsCheckedOut());
+            total = total.add(revenue.get(day).getRevenue().subtract(revenueBefore.get(day).getRevenue()));
+        }
+        assertEquals(new BigDecimal("999.99"), total);
+
+        RevenueReportDTO canceledDay = reportService.revenue(future, future, "SUITE").get(0);
+        assertEquals(1, canceledDay.getCanceledNights());
+        assertEquals(0, reportService.occupancy(future, future, "SUITE").get(0).getNightsSold());
+
+        List<OccupancyReportDTO> incrementalOccupancy = reportService.occupancy(today, today.plusDays(30), null);
+        List<RevenueReportDTO> incrementalRevenue = reportService.revenue(today, today.plusDays(30), null);
+        reportService.load();
+        assertEquals(summary(incrementalOccupancy), summary(reportService.occupancy(today, today.plusDays(30), null)));
+        assertEquals(summaryOfRevenue(incrementalRevenue),
+                summaryOfRevenue(reportService.revenue(today, today.plusDays(30), null)));
+    }
+
+    @Test
+    void rejectsInvalidRangesAndTypes() {
+        LocalDate today = LocalDate.now();
+        assertThrows(BusinessException.class, () -> reportService.occupancy(today, today.minusDays(1), null));
+        assertThrows(BusinessException.class, () -> reportService.revenue(today, today.plusYears(2), null));
+        BusinessException error = assertThrows(BusinessException.class,
+                () -> reportService.occupancy(today, today, "PENTHOUSE"));
+        assertEquals("Invalid room type: PENTHOUSE", error.getMessage());
+    }
+
+    @Test
+    void revenueSharesAddUpToTheTotal() {
+        BigDecimal[] shares = ReportService.spread(new BigDecimal("100.00"), 3);
+        assertEquals(List.of(new BigDecimal("33.34"), new BigDecimal("33.33"), new BigDecimal("33.33")),
+                Arrays.asList(shares));
+    }
+
+    private static List<String> summary(List<OccupancyReportDTO> report) {
+        return report.stream()
+                .map(row -> row.getDate() + " " + row.getRoomType() + " " + row.getNightsSold())
+                .toList();
+    }
+
+    private static List<String> summaryOfRevenue(List<RevenueReportDTO> report) {
+        return report.stream()
+                .map(row -> row.getDate() + " " + row.getRoomType() + " " + row.getNightsCheckedOut() + " "
+                        + row.getRevenue().stripTrailingZeros().toPlainString() + " " + row.getCanceledNights())
+                .toList();
+    }
+}
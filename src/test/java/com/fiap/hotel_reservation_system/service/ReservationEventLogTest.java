@@ -0,0 +1,110 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationEventLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentAppendsAreDurableInSequenceOrderAndReplayedAfterReopen() throws Exception {
+        List<ReservationEventLog.Entry> durable = new CopyOnWriteArrayList<>();
+        ReservationEventLog eventLog = new ReservationEventLog(directory, 1 << 20, 100, durable::addAll);
+        assertTrue(eventLog.open().isEmpty());
+        eventLog.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Long>> sequences = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            BigDecimal amount = i % 2 == 0 ? null : new BigDecimal("123.45").multiply(BigDecimal.valueOf(i));
+            sequences.add(executor.submit(() -> eventLog.append(transition(amount))));
+        }
+        for (Future<Long> sequence : sequences) {
+            sequence.get();
+        }
+        executor.shutdown();
+        eventLog.close();
+
+        assertEquals(2_000, durable.size());
+        for (int i = 0; i < durable.size(); i++) {
+            assertEquals(i + 1, durable.get(i).sequence());
+        }
+
+        ReservationEventLog reopened = new ReservationEventLog(directory, 1 << 20, 100, entries -> { });
+        assertEquals(durable, reopened.open());
+        reopened.close();
+    }
+
+    @Test
+    void tornTailIsCutOffAndAppliedSegmentsAreDeleted() throws Exception {
+        ReservationEventLog eventLog = new ReservationEventLog(directory, 512, 10, entries -> { });
+        eventLog.open();
+        eventLog.start();
+        for (int i = 0; i < 50; i++) {
+            eventLog.append(transition(null));
+        }
+        eventLog.close();
+
+        // A crash in the middle of the next write leaves half a record behind.
+        Path lastSegment = lastSegment();
+        byte[] record = ReservationEventLog.encode(new ReservationEventLog.Entry(51, transition(BigDecimal.TEN))).array();
+        try (FileChannel channel = FileChannel.open(lastSegment, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(record, 0, record.length / 2));
+        }
+
+        ReservationEventLog reopened = new ReservationEventLog(directory, 512, 10, entries -> { });
+        List<ReservationEventLog.Entry> unapplied = reopened.open();
+        assertEquals(50, unapplied.size());
+        assertEquals(50, unapplied.get(49).sequence());
+        assertTrue(reopened.getSegmentCount() > 1);
+
+        reopened.markApplied(50);
+        assertEquals(1, reopened.getSegmentCount());
+        reopened.start();
+        assertEquals(51, reopened.append(transition(null)));
+        reopened.close();
+
+        ReservationEventLog restarted = new ReservationEventLog(directory, 512, 10, entries -> { });
+        List<ReservationEventLog.Entry> remaining = restarted.open();
+        assertEquals(1, remaining.size());
+        assertEquals(51, remaining.get(0).sequence());
+        restarted.close();
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-"))
+                    .max(Comparator.naturalOrder())
+                    .orElseThrow();
+        }
+    }
+
+    private static ReservationTransition transition(BigDecimal totalAmount) {
+        return new ReservationTransition(UUID.randomUUID(), ReservationStatus.CHECKED_IN, ReservationStatus.CHECKED_OUT,
+                totalAmount, LocalDateTime.of(2030, 1, 17, 11, 0, 5, 123_000_000));
+    }
+}
@@ -0,0 +1,53 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.ReservationBatchItemResultDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationBatchResponseDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ReservationServiceBatchTest {
+
+    private static final String ROOM_101 = "aaaaaaaa-aaaa-aaaa-aaaa-aaaaaaaaaaaa";
+    private static final String ROOM_102 = "bbbbbbbb-bbbb-bbbb-bbbb-bbbbbbbbbbbb";
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Test
+    void reportsPerItemResults() {
+        LocalDate checkin = LocalDate.now().plusYears(6);
+
+        ReservationBatchResponseDTO response = reservationService.createAll(List.of(
+                request(ROOM_101, checkin, checkin.plusDays(2)),
+                request(ROOM_101, checkin.plusDays(1), checkin.plusDays(4)),
+                request(ROOM_102, checkin, checkin.plusDays(2)),
+                request("missing-room", checkin, checkin.plusDays(2)),
+                request(ROOM_102, checkin.plusDays(5), checkin.plusDays(3))
+        ));
+
+        assertEquals(List.of("CREATED", "CONFLICT", "CREATED", "NOT_FOUND", "INVALID"),
+                response.getResults().stream()
+                        .map(ReservationBatchItemResultDTO::getResult)
+                        .collect(Collectors.toList()));
+        assertEquals(2, response.getCreated());
+        assertEquals(3, response.getRejected());
+    }
+
+    private ReservationRequestDTO request(String roomId, LocalDate checkin, LocalDate checkout) {
+        ReservationRequestDTO dto = new ReservationRequestDTO();
+        dto.setRoomId(roomId);
+        dto.setGuestName("Group Guest");
+        dto.setCheckinExpected(checkin);
+        dto.setCheckoutExpected(checkout);
+        return dto;
+    }
+}
@@ -0,0 +1,173 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.dto.RoomRequestDTO;
+import com.fiap.hotel_reservation_system.exception.ConflictException;
+import com.fiap.hotel_reservation_system.model.Reservation;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReservationServiceConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationServiceConcurrencyTest.class);
+
+    private static final int ROOM_COUNT = 8;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private final List<String> roomIds = new ArrayList<>();
+
+    @BeforeAll
+    void createRooms() {
+        for (int i = 0; i < ROOM_COUNT; i++) {
+            RoomRequestDTO room = new RoomRequestDTO();
+            room.setNumber(9001 + i);
+            room.setType("STANDARD");
+            room.setCapacity(2);
+            room.setPricePerNight(new BigDecimal("200.00"));
+            roomIds.add(roomService.create(room).getId());
+        }
+    }
+
+    @Test
+    void sameRoomAndDatesIsBookedExactlyOnce() throws Exception {
+        int threads = 16;
+        LocalDate checkin = LocalDate.now().plusYears(2);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger conflicts = new AtomicInteger();
+
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    reservationService.create(request(roomIds.get(0), checkin, checkin.plusDays(3)));
+                    return true;
+                } catch (ConflictException e) {
+                    conflicts.incrementAndGet();
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                created++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, created);
+        assertEquals(threads - 1, conflicts.get());
+        assertNoDoubleBookings();
+    }
+
+    @Test
+    void randomBookingsNeverOverlapAndThroughputIsReported() throws Exception {
+        int bookingsPerThread = 40;
+        int round = 0;
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            LocalDate base = LocalDate.now().plusYears(3).plusMonths(3L * round++);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger created = new AtomicInteger();
+
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < bookingsPerThread; i++) {
+                        LocalDate checkin = base.plusDays(random.nextInt(60));
+                        String roomId = roomIds.get(random.nextInt(roomIds.size()));
+                        try {
+                            reservationService.create(request(roomId, checkin, checkin.plusDays(1 + random.nextInt(3))));
+                            created.incrementAndGet();
+                        } catch (ConflictException ignored) {
+                            // expected when the random window is already taken
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            List<Future<Void>> futures = workers.stream().map(executor::submit).collect(Collectors.toList());
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+            executor.shutdown();
+
+            log.debug("threads={} attempts={} created={} attempts/sec={}",
+                    threads, threads * bookingsPerThread, created.get(), threads * bookingsPerThread / seconds);
+            assertTrue(created.get() > 0);
+        }
+
+        assertNoDoubleBookings();
+    }
+
+    private void assertNoDoubleBookings() {
+        Map<UUID, List<Reservation>> byRoom = reservationRepository
+                .findByStatusIn(ReservationStatus.ACTIVE_STATUSES).stream()
+                .collect(Collectors.groupingBy(reservation -> reservation.getRoom().getId()));
+
+        byRoom.values().forEach(reservations -> {
+            reservations.sort(Comparator.comparing(Reservation::getCheckinExpected));
+            for (int i = 1; i < reservations.size(); i++) {
+                Reservation previous = reservations.get(i - 1);
+                Reservation current = reservations.get(i);
+                assertTrue(current.getCheckinExpected().isAfter(previous.getCheckoutExpected()),
+                        "Double booking between " + previous.getId() + " and " + current.getId());
+            }
+        });
+    }
+
+    private ReservationRequestDTO request(String roomId, LocalDate checkin, LocalDate checkout) {
+        ReservationRequestDTO dto = new ReservationRequestDTO();
+        dto.setRoomId(roomId);
+        dto.setGuestName("Load Test Guest");
+        dto.setCheckinExpected(checkin);
+        dto.setCheckoutExpected(checkout);
+        return dto;
+    }
+}
@@ -0,0 +1,109 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.repository.ArchivedReservationRepository;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.reservation;
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "hotel.sweeper.chunk-size=2"})
+class ReservationSweeperTest {
+
+    @Autowired
+    private ReservationSweeper sweeper;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void marksNoShowsAndArchivesOldFinishedReservationsInChunks() {
+        String roomId = roomService.create(room(9911)).getId();
+        UUID room = UUID.fromString(roomId);
+        LocalDate today = LocalDate.now();
+
+        UUID noShow = insert(room, today.minusDays(3), today.plusDays(2), ReservationStatus.CREATED);
+        UUID otherRoom = UUID.fromString(roomService.create(room(9912)).getId());
+        UUID arrivingToday = insert(otherRoom, today.minusDays(1), today.plusDays(1), ReservationStatus.CREATED);
+        UUID recentlyCanceled = insert(room, today.minusDays(20), today.minusDays(10), ReservationStatus.CANCELED);
+        UUID[] old = {
+                insert(room, today.minusDays(500), today.minusDays(498), ReservationStatus.CHECKED_OUT),
+                insert(room, today.minusDays(480), today.minusDays(478), ReservationStatus.CANCELED),
+                insert(room, today.minusDays(460), today.minusDays(458), ReservationStatus.CHECKED_OUT)
+        };
+        availabilityIndex.add(reservationRepository.findById(noShow).orElseThrow());
+        assertTrue(availabilityIndex.hasOverlap(room, today.plusDays(1), today.plusDays(2)));
+
+        ReservationSweeper.SweepResult result = sweeper.sweep().orElseThrow();
+
+        assertTrue(result.noShows() >= 1);
+        assertTrue(result.archived() >= 3);
+        assertEquals(ReservationStatus.NO_SHOW, reservationRepository.findById(noShow).orElseThrow().getStatus());
+        assertEquals(ReservationStatus.CREATED, reservationRepository.findById(arrivingToday).orElseThrow().getStatus());
+        assertTrue(reservationRepository.existsById(recentlyCanceled));
+        for (UUID id : old) {
+            assertFalse(reservationRepository.existsById(id));
+            assertTrue(ReservationStatus.FINAL_STATUSES.contains(
+                    archivedReservationRepository.findById(id).orElseThrow().getStatus()));
+        }
+
+        // The no-show's remaining nights can be booked again.
+        assertFalse(availabilityIndex.hasOverlap(room, today.plusDays(1), today.plusDays(2)));
+        reservationService.create(reservation(roomId, today.plusDays(1), today.plusDays(2)));
+    }
+
+    @Test
+    void skipsTheSweepWhileAnotherNodeHoldsTheLease() {
+        sweeper.sweep();
+        jdbcTemplate.update("UPDATE scheduler_locks SET locked_by = 'other-node', locked_until = ? WHERE name = ?",
+                Timestamp.valueOf(LocalDateTime.now().plusHours(1)), ReservationSweeper.LEASE);
+        long skipped = sweeper.getSkippedRunCount();
+
+        assertEquals(Optional.empty(), sweeper.sweep());
+        assertEquals(skipped + 1, sweeper.getSkippedRunCount());
+
+        jdbcTemplate.update("UPDATE scheduler_locks SET locked_until = ? WHERE name = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), ReservationSweeper.LEASE);
+        assertTrue(sweeper.sweep().isPresent());
+    }
+
+    private UUID insert(UUID roomId, LocalDate checkin, LocalDate checkout, ReservationStatus status) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO reservations (id, room_id, guest_name, checkin_expected, checkout_expected, " +
+                        "status, total_amount, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                id, roomId, "Swept Guest", Date.valueOf(checkin), Date.valueOf(checkout), status.getCode(),
+                status == ReservationStatus.CHECKED_OUT ? new BigDecimal("500.00") : null,
+                Timestamp.valueOf(checkin.atStartOfDay().minusDays(30)), Timestamp.valueOf(checkout.atStartOfDay()));
+        return id;
+    }
+}
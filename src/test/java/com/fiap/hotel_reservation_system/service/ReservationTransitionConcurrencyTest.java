@@ -0,0 +1,99 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.exception.ConflictException;
+import com.fiap.hotel_reservation_system.exception.ResourceNotFoundException;
+import com.fiap.hotel_reservation_system.model.Reservation;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.reservation;
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ReservationTransitionConcurrencyTest {
+
+    private static final int RESERVATIONS = 20;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Test
+    void concurrentCancelAndCheckInHaveExactlyOneWinner() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < RESERVATIONS; i++) {
+                String reservationId = createReservationStartingToday(9801 + i);
+                CountDownLatch start = new CountDownLatch(1);
+
+                List<Future<String>> outcomes = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    boolean cancel = t % 2 == 0;
+                    outcomes.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            ReservationResponseDTO result = cancel
+                                    ? reservationService.cancel(reservationId)
+                                    : reservationService.checkIn(reservationId);
+                            return result.getStatus();
+                        } catch (ResourceNotFoundException | ConflictException e) {
+                            return null;
+                        }
+                    }));
+                }
+                start.countDown();
+
+                List<String> winners = new ArrayList<>();
+                for (Future<String> outcome : outcomes) {
+                    String status = outcome.get();
+                    if (status != null) {
+                        winners.add(status);
+                    }
+                }
+
+                assertEquals(1, winners.size(), "Transitions that won: " + winners);
+                Reservation stored = reservationRepository.findById(UUID.fromString(reservationId)).orElseThrow();
+                assertEquals(winners.get(0), stored.getStatus().name());
+                assertEquals(1L, stored.getVersion());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void transitionFromTheWrongStatusIsNotFound() {
+        String reservationId = createReservationStartingToday(9851);
+        reservationService.cancel(reservationId);
+
+        ResourceNotFoundException error = assertThrows(
+                ResourceNotFoundException.class, () -> reservationService.checkIn(reservationId));
+        assertTrue(error.getMessage().contains("CREATED"));
+    }
+
+    private String createReservationStartingToday(int roomNumber) {
+        String roomId = roomService.create(room(roomNumber)).getId();
+        return reservationService.create(reservation(roomId, LocalDate.now(), LocalDate.now().plusDays(1))).getId();
+    }
+}
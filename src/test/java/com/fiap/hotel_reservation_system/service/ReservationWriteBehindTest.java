@@ -0,0 +1,157 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.HotelReservationSystemApplication;
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.dto.ReservationResponseDTO;
+import com.fiap.hotel_reservation_system.exception.ResourceNotFoundException;
+import com.fiap.hotel_reservation_system.model.ReservationStatus;
+import com.fiap.hotel_reservation_system.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Write-behind mode against an in-memory database that outlives each application context, so a
+ * restart can be simulated with transitions still sitting in the log.
+ */
+class ReservationWriteBehindTest {
+
+    private static final String ROOM_ID = "cccccccc-cccc-cccc-cccc-cccccccccccc";
+
+    @TempDir
+    Path logDirectory;
+
+    @Test
+    void transitionsAreAcknowledgedFromTheLogAndStoredInTheBackground() throws Exception {
+        String reservationId;
+        try (ConfigurableApplicationContext context = start()) {
+            ReservationService reservationService = context.getBean(ReservationService.class);
+            reservationId = reservationService.create(request()).getId();
+
+            assertEquals("CHECKED_IN", reservationService.checkIn(reservationId).getStatus());
+            // The check-out starts from the logged check-in whether or not it has been stored yet.
+            ReservationResponseDTO checkedOut = reservationService.checkOut(reservationId);
+            assertEquals("CHECKED_OUT", checkedOut.getStatus());
+            assertEquals(new BigDecimal("700.00"), checkedOut.getTotalAmount());
+            assertThrows(ResourceNotFoundException.class, () -> reservationService.cancel(reservationId));
+
+            awaitBacklogDrained(context.getBean(ReservationWriteBehind.class));
+            assertEquals("CHECKED_OUT", reservationService.findById(reservationId).getStatus());
+        }
+    }
+
+    @Test
+    void readsSeeTransitionsBeforeTheyAreStored() throws Exception {
+        try (ConfigurableApplicationContext context = start()) {
+            ReservationService reservationService = context.getBean(ReservationService.class);
+            String reservationId = reservationService.create(request()).getId();
+            String createdTag = reservationService.findVersionTag(reservationId).orElseThrow();
+
+            reservationService.checkIn(reservationId);
+            // Whether or not the check-in has been stored yet, reads and the version tag already include it.
+            assertEquals("CHECKED_IN", reservationService.findById(reservationId).getStatus());
+            assertFalse(reservationService.findByStatus("CREATED").stream()
+                    .anyMatch(reservation -> reservation.getId().equals(reservationId)));
+            String checkedInTag = reservationService.findVersionTag(reservationId).orElseThrow();
+            assertNotEquals(createdTag, checkedInTag);
+
+            awaitBacklogDrained(context.getBean(ReservationWriteBehind.class));
+            assertEquals(checkedInTag, reservationService.findVersionTag(reservationId).orElseThrow());
+        }
+    }
+
+    @Test
+    void transitionsLeftInTheLogAreAppliedOnStartup() throws Exception {
+        String reservationId;
+        try (ConfigurableApplicationContext context = start()) {
+            reservationId = context.getBean(ReservationService.class).create(request()).getId();
+        }
+
+        // As if the process died right after the fsync, before the background writer ran.
+        ReservationEventLog eventLog = new ReservationEventLog(logDirectory, 1 << 20, 10, entries -> { });
+        eventLog.open();
+        eventLog.start();
+        eventLog.append(new ReservationTransition(UUID.fromString(reservationId), ReservationStatus.CREATED,
+                ReservationStatus.CANCELED, null, LocalDateTime.now()));
+        eventLog.close();
+
+        try (ConfigurableApplicationContext context = start()) {
+            assertEquals(ReservationStatus.CANCELED, context.getBean(ReservationRepository.class)
+                    .findById(UUID.fromString(reservationId)).orElseThrow().getStatus());
+        }
+    }
+
+    @Test
+    void transitionsThatMatchNoStoredReservationAreDeadLettered() throws Exception {
+        String reservationId;
+        try (ConfigurableApplicationContext context = start()) {
+            reservationId = context.getBean(ReservationService.class).create(request()).getId();
+        }
+
+        // A check-out of a reservation the database has never seen checked in.
+        ReservationEventLog eventLog = new ReservationEventLog(logDirectory, 1 << 20, 10, entries -> { });
+        eventLog.open();
+        eventLog.start();
+        eventLog.append(new ReservationTransition(UUID.fromString(reservationId), ReservationStatus.CHECKED_IN,
+                ReservationStatus.CHECKED_OUT, new BigDecimal("700.00"), LocalDateTime.now()));
+        eventLog.close();
+
+        try (ConfigurableApplicationContext context = start()) {
+            assertEquals(1, context.getBean(ReservationWriteBehind.class).getRejectedCount());
+            assertEquals(ReservationStatus.CREATED, context.getBean(ReservationRepository.class)
+                    .findById(UUID.fromString(reservationId)).orElseThrow().getStatus());
+        }
+        List<String> rejected = Files.readAllLines(logDirectory.resolve("rejected.log"));
+        assertEquals(1, rejected.size());
+        assertTrue(rejected.get(0).contains(reservationId + "\tCHECKED_IN\tCHECKED_OUT"));
+        assertTrue(rejected.get(0).endsWith("\tCREATED"));
+
+        // The checkpoint moved past it, so the next start has nothing to replay.
+        try (ConfigurableApplicationContext context = start()) {
+            assertEquals(0, context.getBean(ReservationWriteBehind.class).getRejectedCount());
+        }
+        assertEquals(1, Files.readAllLines(logDirectory.resolve("rejected.log")).size());
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(HotelReservationSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:write-behind-" + logDirectory.hashCode() + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--hotel.booking.write-behind.enabled=true",
+                        "--hotel.booking.write-behind.directory=" + logDirectory);
+    }
+
+    private static void awaitBacklogDrained(ReservationWriteBehind writeBehind) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (writeBehind.getBacklog() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, writeBehind.getBacklog());
+    }
+
+    private static ReservationRequestDTO request() {
+        ReservationRequestDTO dto = new ReservationRequestDTO();
+        dto.setRoomId(ROOM_ID);
+        dto.setGuestName("Write-behind Guest");
+        dto.setCheckinExpected(LocalDate.now());
+        dto.setCheckoutExpected(LocalDate.now().plusDays(2));
+        return dto;
+    }
+}
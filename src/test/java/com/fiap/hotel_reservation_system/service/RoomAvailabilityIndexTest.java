@@ -0,0 +1,108 @@
+package com.fiap.hotel_reservation_system.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.reservation;
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class RoomAvailabilityIndexTest {
+
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Test
+    void bookingsMadeWhileTheIndexIsRebuiltAreKept() throws Exception {
+        String roomId = roomService.create(room(9941)).getId();
+        LocalDate checkin = LocalDate.now().plusYears(10);
+        AtomicBoolean booking = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> rebuilds = executor.submit(() -> {
+                while (booking.get()) {
+                    availabilityIndex.warmUp();
+                }
+            });
+            List<LocalDate> stays = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                LocalDate stay = checkin.plusDays(i * 2L);
+                reservationService.create(reservation(roomId, stay, stay.plusDays(1)));
+                stays.add(stay);
+            }
+            booking.set(false);
+            rebuilds.get();
+
+            for (LocalDate stay : stays) {
+                assertTrue(availabilityIndex.hasOverlap(UUID.fromString(roomId), stay, stay.plusDays(1)),
+                        "stay on " + stay + " is missing from the index");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void emptyRoomHasNoOverlap() {
+        UUID roomId = UUID.fromString(roomService.create(room(9942)).getId());
+        LocalDate checkin = LocalDate.now().plusYears(10);
+
+        assertFalse(availabilityIndex.hasOverlap(roomId, checkin, checkin.plusDays(3)));
+        assertFalse(availabilityIndex.hasOverlap(UUID.randomUUID(), checkin, checkin.plusDays(3)));
+    }
+
+    @Test
+    void staysSharingACheckInOrCheckOutDayOverlap() {
+        String roomId = roomService.create(room(9943)).getId();
+        LocalDate checkin = LocalDate.now().plusYears(10);
+        LocalDate checkout = checkin.plusDays(3);
+        reservationService.create(reservation(roomId, checkin, checkout));
+        UUID room = UUID.fromString(roomId);
+
+        // Stays are closed intervals: the check-out day is still taken.
+        assertTrue(availabilityIndex.hasOverlap(room, checkout, checkout.plusDays(2)));
+        assertTrue(availabilityIndex.hasOverlap(room, checkin.minusDays(2), checkin));
+        assertTrue(availabilityIndex.hasOverlap(room, checkin.plusDays(1), checkin.plusDays(2)));
+        assertTrue(availabilityIndex.hasOverlap(room, checkin.minusDays(1), checkout.plusDays(1)));
+        assertFalse(availabilityIndex.hasOverlap(room, checkout.plusDays(1), checkout.plusDays(3)));
+        assertFalse(availabilityIndex.hasOverlap(room, checkin.minusDays(3), checkin.minusDays(1)));
+    }
+
+    @Test
+    void canceledAndCheckedOutStaysAreRemoved() {
+        String roomId = roomService.create(room(9944)).getId();
+        UUID room = UUID.fromString(roomId);
+        LocalDate later = LocalDate.now().plusYears(10);
+        String canceled = reservationService.create(reservation(roomId, later, later.plusDays(2))).getId();
+        LocalDate today = LocalDate.now();
+        String checkedOut = reservationService.create(reservation(roomId, today, today.plusDays(1))).getId();
+        assertTrue(availabilityIndex.hasOverlap(room, later, later.plusDays(2)));
+        assertTrue(availabilityIndex.hasOverlap(room, today, today.plusDays(1)));
+
+        reservationService.cancel(canceled);
+        reservationService.checkIn(checkedOut);
+        assertTrue(availabilityIndex.hasOverlap(room, today, today.plusDays(1)));
+        reservationService.checkOut(checkedOut);
+
+        assertFalse(availabilityIndex.hasOverlap(room, later, later.plusDays(2)));
+        assertFalse(availabilityIndex.hasOverlap(room, today, today.plusDays(1)));
+    }
+}
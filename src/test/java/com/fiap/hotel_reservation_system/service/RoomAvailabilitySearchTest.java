@@ -0,0 +1,102 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.dto.ReservationRequestDTO;
+import com.fiap.hotel_reservation_system.dto.RoomResponseDTO;
+import com.fiap.hotel_reservation_system.model.Room;
+import com.fiap.hotel_reservation_system.model.RoomStatus;
+import com.fiap.hotel_reservation_system.model.RoomType;
+import com.fiap.hotel_reservation_system.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:availability-search",
+        "spring.jpa.show-sql=false"
+})
+class RoomAvailabilitySearchTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomAvailabilitySearchTest.class);
+
+    private static final int ROOMS = 2000;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Test
+    void findsFreeRoomsOfA2000RoomPropertyInMilliseconds() {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setNumber(10_000 + i);
+            room.setType(i % 2 == 0 ? RoomType.STANDARD : RoomType.DELUXE);
+            room.setCapacity(2 + i % 3);
+            room.setPricePerNight(new BigDecimal("300.00"));
+            room.setStatus(RoomStatus.ACTIVE);
+            rooms.add(room);
+        }
+        roomRepository.saveAll(rooms);
+        roomCatalog.invalidate();
+
+        // Every fourth room gets booked over the searched period.
+        LocalDate checkin = LocalDate.now().plusYears(1);
+        List<ReservationRequestDTO> bookings = new ArrayList<>();
+        for (int i = 0; i < ROOMS; i += 4) {
+            ReservationRequestDTO dto = new ReservationRequestDTO();
+            dto.setRoomId(rooms.get(i).getId().toString());
+            dto.setGuestName("Search Guest");
+            dto.setCheckinExpected(checkin.plusDays(1));
+            dto.setCheckoutExpected(checkin.plusDays(3));
+            bookings.add(dto);
+            if (bookings.size() == 500) {
+                reservationService.createAll(bookings);
+                bookings = new ArrayList<>();
+            }
+        }
+        if (!bookings.isEmpty()) {
+            reservationService.createAll(bookings);
+        }
+
+        List<RoomResponseDTO> available = roomService.findAvailable(checkin, checkin.plusDays(2), "STANDARD", 3);
+        List<Integer> expected = rooms.stream()
+                .filter(room -> room.getType() == RoomType.STANDARD && room.getCapacity() >= 3)
+                .filter(room -> (room.getNumber() - 10_000) % 4 != 0)
+                .map(Room::getNumber)
+                .collect(Collectors.toList());
+        assertEquals(expected, available.stream().map(RoomResponseDTO::getNumber).collect(Collectors.toList()));
+
+        int iterations = 500;
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            roomService.findAvailable(checkin, checkin.plusDays(2), null, 2);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        double p50 = latencies[iterations / 2] / 1_000_000.0;
+        double p99 = latencies[iterations * 99 / 100] / 1_000_000.0;
+        log.debug("availability search over {} rooms: p50={}ms p99={}ms", ROOMS, p50, p99);
+        assertTrue(p50 < 10, "p50 should stay in single-digit milliseconds but was " + p50 + " (p99=" + p99 + ")");
+    }
+}
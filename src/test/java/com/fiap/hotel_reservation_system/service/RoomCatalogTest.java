@@ -0,0 +1,67 @@
+package com.fiap.hotel_reservation_system.service;
+
+import com.fiap.hotel_reservation_system.model.Room;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.fiap.hotel_reservation_system.TestFixtures.room;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class RoomCatalogTest {
+
+    @Autowired
+    private RoomCatalog roomCatalog;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Test
+    void roomsHandedOutAreCopiesOfTheSnapshot() {
+        UUID roomId = UUID.fromString(roomService.create(room(9951)).getId());
+
+        Room room = roomService.findRoomEntityById(roomId);
+        room.setPricePerNight(new BigDecimal("1.00"));
+
+        assertEquals(new BigDecimal("250.00"), roomCatalog.findById(roomId).orElseThrow().pricePerNight());
+        assertEquals(new BigDecimal("250.00"), roomService.findRoomEntityById(roomId).getPricePerNight());
+    }
+
+    @Test
+    void concurrentReadsOfAnExpiredSnapshotLoadItOnce() throws Exception {
+        roomCatalog.findAll();
+        roomCatalog.invalidate();
+        long misses = roomCatalog.getMissCount();
+
+        int readers = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < readers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return roomCatalog.findAll();
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(misses + 1, roomCatalog.getMissCount());
+    }
+}